@@ -0,0 +1,103 @@
+package com.taskmanager.backend.benchmark;
+
+import com.taskmanager.backend.TaskManagerApplication;
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.service.TaskService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application without the web layer against a private in-memory database, so
+ * benchmarks measure the service and persistence path only.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(asArguments(quietDefaults(properties)));
+    }
+
+    /**
+     * Boots the full application, web layer included, on a random port with the same quiet
+     * defaults as {@link #start}. The initializers run before any bean is created.
+     */
+    static ConfigurableApplicationContext startServer(List<ApplicationContextInitializer<?>> initializers,
+                                                      String... properties) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(initializers.toArray(new ApplicationContextInitializer<?>[0]))
+                .run(asArguments(quietDefaults(properties), "server.port=0"));
+    }
+
+    /**
+     * Passes properties as command-line arguments; unlike builder default properties these take
+     * precedence over application.properties and the profile files.
+     */
+    private static String[] asArguments(List<String> properties, String... more) {
+        List<String> arguments = new ArrayList<>();
+        for (String property : properties) {
+            arguments.add("--" + property);
+        }
+        for (String property : more) {
+            arguments.add("--" + property);
+        }
+        return arguments.toArray(new String[0]);
+    }
+
+    private static List<String> quietDefaults(String... properties) {
+        List<String> defaults = new ArrayList<>();
+        defaults.add("spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        defaults.add("spring.jpa.show-sql=false");
+        defaults.add("spring.jpa.properties.hibernate.format_sql=false");
+        defaults.add("spring.h2.console.enabled=false");
+        defaults.add("logging.level.root=WARN");
+        defaults.addAll(Arrays.asList(properties));
+        return defaults;
+    }
+
+    /**
+     * Boots with a Spring profile's own configuration left intact (SQL logging included), so
+     * profiles can be compared as they would run in a deployment.
+     */
+    static ConfigurableApplicationContext startProfile(String profile, String... properties) {
+        List<String> defaults = new ArrayList<>();
+        defaults.add("spring.profiles.active=" + profile);
+        defaults.add("logging.level.root=WARN");
+        defaults.addAll(Arrays.asList(properties));
+        return run(defaults);
+    }
+
+    private static ConfigurableApplicationContext run(List<String> properties) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(asArguments(properties));
+    }
+
+    static void seed(TaskService taskService, int count) {
+        for (int from = 0; from < count; from += SEED_CHUNK_SIZE) {
+            int size = Math.min(SEED_CHUNK_SIZE, count - from);
+            List<CreateTaskRequest> requests = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                requests.add(newRequest(from + i));
+            }
+            taskService.createTasks(requests);
+        }
+    }
+
+    static CreateTaskRequest newRequest(int n) {
+        return new CreateTaskRequest("Task " + n, "Benchmark task number " + n + " with a short description");
+    }
+}
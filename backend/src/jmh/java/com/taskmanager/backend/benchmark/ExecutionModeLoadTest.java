@@ -0,0 +1,282 @@
+package com.taskmanager.backend.benchmark;
+
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.service.TaskService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the request execution modes under a simulated slow database. Every JDBC statement
+ * sleeps for a fixed latency while it holds its connection, and a fixed number of closed-loop
+ * clients read task counts. For each mode it reports throughput, latency percentiles and the
+ * highest number of requests the server had in flight at once.
+ * <p>
+ * Run with {@code ./gradlew loadTest}, or pass
+ * {@code -PloadTest.args="<modes> <clients> <seconds> <dbLatencyMs>"}, for example
+ * {@code "platform,virtual 1000 20 50"}. The virtual mode is skipped on JDKs without virtual
+ * threads; {@code -PloadTest.jdk=21} runs both modes on an installed JDK 21.
+ */
+public final class ExecutionModeLoadTest {
+
+    private static final int WARMUP_SECONDS = 3;
+
+    private ExecutionModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = Arrays.asList((args.length > 0 ? args[0] : "platform,virtual").split(","));
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long dbLatencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 50L;
+        System.setProperty("http.maxConnections", String.valueOf(clients));
+
+        System.out.printf("%d clients, %d s per mode, %d ms per statement%n", clients, seconds, dbLatencyMillis);
+        System.out.printf("%-9s %10s %9s %9s %9s %9s %9s%n",
+                "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "inflight");
+        for (String mode : modes) {
+            if ("virtual".equals(mode) && !virtualThreadsAvailable()) {
+                System.out.printf("%-9s skipped: needs Java 21+, running %s%n", mode, System.getProperty("java.version"));
+                continue;
+            }
+            run(mode, clients, seconds, dbLatencyMillis);
+        }
+    }
+
+    private static void run(String mode, int clients, int seconds, long dbLatencyMillis) throws Exception {
+        InFlightFilter inFlight = new InFlightFilter();
+        List<ApplicationContextInitializer<?>> initializers = new ArrayList<>();
+        initializers.add((GenericApplicationContext context) -> {
+            context.registerBean(InFlightFilter.class, () -> inFlight);
+            context.getBeanFactory().addBeanPostProcessor(new SlowDataSourcePostProcessor(dbLatencyMillis));
+        });
+        try (ConfigurableApplicationContext context = BenchmarkApplication.startServer(initializers,
+                "taskmanager.execution.mode=" + mode,
+                "taskmanager.ratelimit.enabled=false",
+                "taskmanager.loadshed.enabled=false",
+                "spring.datasource.hikari.maximum-pool-size=" + clients,
+                "spring.datasource.hikari.connection-timeout=60000",
+                "server.tomcat.max-connections=" + (clients * 2),
+                "server.tomcat.accept-count=" + clients)) {
+            TaskService taskService = context.getBean(TaskService.class);
+            Task task = taskService.createTask(BenchmarkApplication.newRequest(0));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URL url = new URL("http://localhost:" + port + "/api/tasks/status/" + task.getStatus() + "/count");
+
+            drive(url, clients, WARMUP_SECONDS);
+            inFlight.reset();
+            Result result = drive(url, clients, seconds);
+            System.out.printf("%-9s %10.0f %9.1f %9.1f %9.1f %9d %9d%n", mode,
+                    result.latencies.size() / (double) seconds,
+                    percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                    percentile(result.latencies, 1.0), result.errors, inFlight.max.get());
+        }
+    }
+
+    /**
+     * Runs closed-loop clients against {@code url} for the given time and collects each
+     * successful request's latency in nanoseconds.
+     */
+    private static Result drive(URL url, int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<List<Long>> perClient = new ArrayList<>(clients);
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            List<Long> latencies = new ArrayList<>();
+            perClient.add(latencies);
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        if (get(url)) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+        List<Long> all = new ArrayList<>();
+        for (List<Long> latencies : perClient) {
+            all.addAll(latencies);
+        }
+        Collections.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private static boolean get(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(30_000);
+            connection.setReadTimeout(60_000);
+            if (connection.getResponseCode() != 200) {
+                connection.disconnect();
+                return false;
+            }
+            try (InputStream body = connection.getInputStream()) {
+                byte[] buffer = new byte[256];
+                while (body.read(buffer) >= 0) {
+                    // drain so the connection can be reused
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    private static final class Result {
+
+        private final List<Long> latencies;
+
+        private final long errors;
+
+        private Result(List<Long> latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+    }
+
+    /**
+     * Tracks how many requests the server is processing at once.
+     */
+    private static final class InFlightFilter extends OncePerRequestFilter {
+
+        private final AtomicInteger current = new AtomicInteger();
+
+        private final AtomicInteger max = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        private void reset() {
+            max.set(current.get());
+        }
+    }
+
+    /**
+     * Wraps the data source so that every statement execution sleeps before running, holding
+     * its connection the way a stalled database would.
+     */
+    private static final class SlowDataSourcePostProcessor implements BeanPostProcessor {
+
+        private final long latencyMillis;
+
+        private SlowDataSourcePostProcessor(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            DataSource target = (DataSource) bean;
+            return proxy(DataSource.class, target, (method, result) ->
+                    result instanceof Connection ? proxy(Connection.class, (Connection) result, this::slowStatements) : result);
+        }
+
+        private Object slowStatements(Method method, Object result) {
+            if (result instanceof Statement) {
+                Class<?> type = method.getReturnType();
+                return proxy(type, result, (statementMethod, value) -> value, this::delayExecution);
+            }
+            return result;
+        }
+
+        private void delayExecution(Method method) {
+            if (method.getName().startsWith("execute")) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, ResultMapper mapper) {
+            return proxy(type, target, mapper, method -> { });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Object target, ResultMapper mapper, BeforeCall beforeCall) {
+            return (T) Proxy.newProxyInstance(ExecutionModeLoadTest.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, methodArgs) -> {
+                        beforeCall.apply(method);
+                        try {
+                            return mapper.apply(method, method.invoke(target, methodArgs));
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+
+    private interface ResultMapper {
+        Object apply(Method method, Object result);
+    }
+
+    private interface BeforeCall {
+        void apply(Method method);
+    }
+}
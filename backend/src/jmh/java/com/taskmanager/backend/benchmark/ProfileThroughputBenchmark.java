@@ -0,0 +1,79 @@
+package com.taskmanager.backend.benchmark;
+
+import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing the default (in-memory, SQL logging on) and prod (file-backed, migrated
+ * schema, tuned pool, SQL logging off) profiles under a concurrent create/read/status mix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ProfileThroughputBenchmark {
+
+    private static final int SEED_SIZE = 10_000;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private Path dataDir;
+
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("task-bench");
+        context = BenchmarkApplication.startProfile(profile, "taskmanager.data-dir=" + dataDir.toAbsolutePath());
+        taskService = context.getBean(TaskService.class);
+        firstId = taskService.createTask(BenchmarkApplication.newRequest(0)).getId();
+        BenchmarkApplication.seed(taskService, SEED_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public Task mixedWorkload() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int operation = random.nextInt(10);
+        if (operation == 0) {
+            return taskService.createTask(BenchmarkApplication.newRequest(random.nextInt()));
+        }
+        long id = firstId + random.nextInt(SEED_SIZE);
+        if (operation < 4) {
+            TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+            return taskService.updateTaskStatus(id, new UpdateTaskStatusRequest(status));
+        }
+        return taskService.getTaskById(id);
+    }
+}
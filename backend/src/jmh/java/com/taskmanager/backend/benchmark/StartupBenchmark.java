@@ -0,0 +1,162 @@
+package com.taskmanager.backend.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start comparison of the prod profile with and without the fast-startup profile and its
+ * AppCDS archive. Every run launches a fresh JVM against a private in-memory database and polls
+ * a database-backed endpoint; it reports the time from launch to the first successful response
+ * and the resident set size of the server at that point.
+ * <p>
+ * Run with {@code ./gradlew startupBenchmark}, or pass
+ * {@code -PstartupBenchmark.args="<configs> <runs>"}, for example
+ * {@code "prod,fast-startup,fast-startup+appcds 5"}. The AppCDS configuration is skipped until
+ * {@code ./gradlew appCdsArchive} has recorded the archive; RSS is read from {@code /proc} and
+ * shows as n/a elsewhere.
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.taskmanager.backend.TaskManagerApplication";
+
+    private static final String FIRST_REQUEST = "/api/tasks/status/TODO/count";
+
+    private static final long START_TIMEOUT_MILLIS = 120_000;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> configs = Arrays.asList((args.length > 0 ? args[0] : "prod,fast-startup,fast-startup+appcds").split(","));
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String classpath = System.getProperty("startup.classpath");
+        File archive = new File(System.getProperty("startup.appcds-archive", "build/appcds/task-manager.jsa"));
+        File logDir = new File(System.getProperty("startup.log-dir", "build/startup"));
+        if (classpath == null) {
+            throw new IllegalStateException("Set startup.classpath to the application's jar classpath");
+        }
+        logDir.mkdirs();
+
+        System.out.printf("%d runs per configuration, first request %s%n", runs, FIRST_REQUEST);
+        System.out.printf("%-20s %12s %12s %12s%n", "config", "p50 ttfr ms", "min ttfr ms", "p50 RSS MB");
+        for (String config : configs) {
+            List<String> jvmArgs = new ArrayList<>();
+            String profiles = "prod";
+            if (config.startsWith("fast-startup")) {
+                profiles = "prod,fast-startup";
+            }
+            if (config.endsWith("+appcds")) {
+                if (!archive.isFile()) {
+                    System.out.printf("%-20s skipped: no archive at %s, run ./gradlew appCdsArchive%n", config, archive);
+                    continue;
+                }
+                jvmArgs.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+            }
+            List<Long> startMillis = new ArrayList<>();
+            List<Long> rssKilobytes = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                File log = new File(logDir, config + "-" + run + ".log");
+                long[] result = launch(classpath, jvmArgs, profiles, log);
+                startMillis.add(result[0]);
+                rssKilobytes.add(result[1]);
+            }
+            Collections.sort(startMillis);
+            Collections.sort(rssKilobytes);
+            long medianRss = rssKilobytes.get(rssKilobytes.size() / 2);
+            System.out.printf("%-20s %12d %12d %12s%n", config, startMillis.get(startMillis.size() / 2),
+                    startMillis.get(0), medianRss < 0 ? "n/a" : String.valueOf(medianRss / 1024));
+        }
+    }
+
+    /**
+     * Starts one server and waits for its first response.
+     *
+     * @return the time to the first response in milliseconds and the RSS in kilobytes (-1 if unknown)
+     */
+    private static long[] launch(String classpath, List<String> jvmArgs, String profiles, File log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        command.add("--spring.profiles.active=" + profiles);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1");
+        command.add("--logging.level.root=WARN");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            URL url = new URL("http://localhost:" + port + FIRST_REQUEST);
+            while (!respondsOk(url)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Server exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(START_TIMEOUT_MILLIS)) {
+                    throw new IllegalStateException("Server did not answer within " + START_TIMEOUT_MILLIS + " ms, see " + log);
+                }
+                Thread.sleep(5);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new long[] {elapsedMillis, rssKilobytes(process)};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean respondsOk(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(10_000);
+            try {
+                return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads VmRSS from /proc. The code base compiles for Java 8, so the process id (Java 9+) is
+     * looked up reflectively.
+     */
+    private static long rssKilobytes(Process process) {
+        try {
+            Method pid = Process.class.getMethod("pid");
+            File status = new File("/proc/" + pid.invoke(process) + "/status");
+            for (String line : Files.readAllLines(status.toPath(), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (ReflectiveOperationException | IOException | RuntimeException ex) {
+            // not Linux, or not Java 9+
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
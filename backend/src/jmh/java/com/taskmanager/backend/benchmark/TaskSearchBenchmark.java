@@ -0,0 +1,65 @@
+package com.taskmanager.backend.benchmark;
+
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.search.TaskSearchIndex;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index. Documents draw words from a skewed vocabulary
+ * so that common and rare terms both occur, similar to real task titles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 50_000;
+
+    @Param({"100000", "1000000"})
+    private int documentCount;
+
+    private TaskSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskSearchIndex(null, null, null);
+        Random random = new Random(42);
+        for (int i = 0; i < documentCount; i++) {
+            Task task = new Task((long) i, words(random, 4), words(random, 12), TaskStatus.TODO);
+            task.setWorkspaceId(WorkspaceContext.DEFAULT_WORKSPACE);
+            index.index(task);
+        }
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult twoRareTerms() {
+        return index.search(WorkspaceContext.DEFAULT_WORKSPACE, "word12001 word23002", 0, 20);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult commonTermWithPrefix() {
+        return index.search(WorkspaceContext.DEFAULT_WORKSPACE, "word2 word400", 0, 20);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // squaring a uniform value skews draws towards the low (frequent) word numbers
+            double skewed = random.nextDouble() * random.nextDouble();
+            text.append("word").append((int) (skewed * VOCABULARY_SIZE)).append(' ');
+        }
+        return text.toString();
+    }
+}
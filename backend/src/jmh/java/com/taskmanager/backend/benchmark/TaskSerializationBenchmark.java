@@ -0,0 +1,54 @@
+package com.taskmanager.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the task list as returned by {@code GET /api/tasks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int listSize;
+
+    private List<Task> tasks;
+
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Task.class));
+        tasks = new ArrayList<>(listSize);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < listSize; i++) {
+            Task task = new Task((long) i, "Task " + i, "Benchmark task number " + i + " with a short description",
+                    statuses[i % statuses.length]);
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
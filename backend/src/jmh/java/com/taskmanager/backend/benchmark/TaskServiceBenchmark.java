@@ -0,0 +1,91 @@
+package com.taskmanager.backend.benchmark;
+
+import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level operations against tables of increasing size. {@code listAll} is expected to
+ * scale with the table; the other operations should not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"1000", "100000", "1000000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private long minId;
+
+    private long maxId;
+
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplication.seed(taskService, tableSize);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        minId = taskRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+        maxId = minId + tableSize - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(BenchmarkApplication.newRequest(created++));
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return taskService.getTaskById(randomId());
+    }
+
+    @Benchmark
+    public Task updateTaskStatus() {
+        TaskStatus status = STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+        return taskService.updateTaskStatus(randomId(), new UpdateTaskStatusRequest(status));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Task> listAll() {
+        return taskService.getAllTasks();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+}
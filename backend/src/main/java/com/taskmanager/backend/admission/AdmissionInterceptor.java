@@ -0,0 +1,71 @@
+package com.taskmanager.backend.admission;
+
+import com.taskmanager.backend.exception.RateLimitExceededException;
+import com.taskmanager.backend.exception.ServiceOverloadedException;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the API: first the client's rate limit, then load shedding.
+ * Rejections surface as exceptions so that {@code GlobalExceptionHandler} renders them with a
+ * {@code Retry-After} header.
+ * <p>
+ * A request counts as in flight until its handler returns. Asynchronous responses such as the
+ * change stream or the export are released once they go asynchronous, so long-lived streams do
+ * not hold admission slots, and their async dispatches are not admitted a second time.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".ADMITTED";
+
+    private final RateLimiter rateLimiter;
+
+    private final LoadShedder loadShedder;
+
+    private final long sheddingRetryAfterSeconds;
+
+    public AdmissionInterceptor(RateLimiter rateLimiter, LoadShedder loadShedder, Duration sheddingRetryAfter) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.sheddingRetryAfterSeconds = Math.max(1L, sheddingRetryAfter.getSeconds());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        long waitNanos = rateLimiter.acquire(request);
+        if (waitNanos > 0) {
+            long seconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new RateLimitExceededException(seconds);
+        }
+        if (!loadShedder.tryEnter()) {
+            throw new ServiceOverloadedException(sheddingRetryAfterSeconds);
+        }
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            loadShedder.exit();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.taskmanager.backend.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns requests away while the server is saturated rather than letting them queue. A request
+ * is shed when the number of API requests in flight has reached the configured limit, or when
+ * the database pool is the bottleneck: requests are waiting for a connection and recent
+ * connection acquires took longer than the configured wait. The pool state is read from the
+ * {@code hikaricp.connections.pending} gauge and the {@code hikaricp.connections.acquire} timer,
+ * whose maximum covers the last couple of minutes.
+ */
+@Component
+public class LoadShedder {
+
+    static final String IN_FLIGHT_METRIC = "task.api.inflight";
+
+    static final String PENDING_CONNECTIONS_METRIC = "hikaricp.connections.pending";
+
+    static final String CONNECTION_ACQUIRE_METRIC = "hikaricp.connections.acquire";
+
+    private final boolean enabled;
+
+    private final int maxConcurrentRequests;
+
+    private final double maxAcquireWaitMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile Collection<Gauge> pendingConnections = Collections.emptyList();
+
+    private volatile Collection<Timer> connectionAcquires = Collections.emptyList();
+
+    public LoadShedder(MeterRegistry meterRegistry,
+                       @Value("${taskmanager.loadshed.enabled}") boolean enabled,
+                       @Value("${taskmanager.loadshed.max-concurrent-requests}") int maxConcurrentRequests,
+                       @Value("${taskmanager.loadshed.max-acquire-wait}") Duration maxAcquireWait) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxAcquireWaitMillis = maxAcquireWait.toMillis();
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .description("API requests currently being processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The pool meters exist once the pool has started, which the JPA setup does during startup.
+     * They are looked up once here so that admission does not search the registry per request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolvePoolMeters() {
+        pendingConnections = new ArrayList<>(meterRegistry.find(PENDING_CONNECTIONS_METRIC).gauges());
+        connectionAcquires = new ArrayList<>(meterRegistry.find(CONNECTION_ACQUIRE_METRIC).timers());
+    }
+
+    /**
+     * Admits a request, which must then be released with {@link #exit()}.
+     *
+     * @return false if the request should be shed
+     */
+    public boolean tryEnter() {
+        int current = inFlight.incrementAndGet();
+        if (enabled && (current > maxConcurrentRequests || databaseSaturated())) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    private boolean databaseSaturated() {
+        boolean waiting = false;
+        for (Gauge pending : pendingConnections) {
+            waiting |= pending.value() > 0;
+        }
+        if (!waiting) {
+            return false;
+        }
+        for (Timer acquire : connectionAcquires) {
+            if (acquire.max(TimeUnit.MILLISECONDS) > maxAcquireWaitMillis) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
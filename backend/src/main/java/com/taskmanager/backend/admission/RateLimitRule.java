@@ -0,0 +1,68 @@
+package com.taskmanager.backend.admission;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+
+/**
+ * One entry of {@code taskmanager.ratelimit.rules}, written as
+ * {@code <METHOD|*> <path pattern> <permits>/<period>}, for example
+ * {@code POST /api/tasks/** 50/1s}.
+ * <p>
+ * Patterns are matched against the same lookup path Spring MVC maps handlers by, with path
+ * parameters such as {@code ;jsessionid=} removed and repeated slashes collapsed, so a request
+ * cannot dodge a rule by spelling the path differently.
+ */
+final class RateLimitRule {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String method;
+
+    private final String pattern;
+
+    private final int permits;
+
+    private final Duration period;
+
+    private RateLimitRule(String method, String pattern, int permits, Duration period) {
+        this.method = method;
+        this.pattern = pattern;
+        this.permits = permits;
+        this.period = period;
+    }
+
+    static RateLimitRule parse(String rule) {
+        String[] parts = rule.trim().split("\\s+");
+        String[] rate = parts.length == 3 ? parts[2].split("/") : new String[0];
+        if (rate.length != 2) {
+            throw new IllegalArgumentException("Invalid rate limit rule '" + rule
+                    + "', expected <METHOD|*> <path pattern> <permits>/<period>");
+        }
+        int permits = Integer.parseInt(rate[0]);
+        Duration period = DurationStyle.detectAndParse(rate[1]);
+        if (permits < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Invalid rate in rate limit rule '" + rule + "'");
+        }
+        String method = "*".equals(parts[0]) ? null : parts[0].toUpperCase();
+        return new RateLimitRule(method, parts[1], permits, period);
+    }
+
+    boolean matches(HttpServletRequest request) {
+        if (method != null && !method.equals(request.getMethod())) {
+            return false;
+        }
+        return PATH_MATCHER.match(pattern, UrlPathHelper.defaultInstance.getLookupPathForRequest(request));
+    }
+
+    TokenBucket newBucket(long nowNanos) {
+        return new TokenBucket(permits, period, nowNanos);
+    }
+
+    Duration getPeriod() {
+        return period;
+    }
+}
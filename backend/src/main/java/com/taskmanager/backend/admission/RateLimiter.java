@@ -0,0 +1,91 @@
+package com.taskmanager.backend.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-client token buckets for the API. A client is identified by its {@code X-API-Key} header
+ * when that is one of the configured keys, and by its remote address otherwise, so made-up keys
+ * are charged to the caller's address rather than each getting a fresh bucket. Each client gets
+ * its own bucket for each rule. The first
+ * rule matching the request's method and path applies; requests matching no rule are not
+ * limited.
+ * <p>
+ * Buckets live in a bounded Caffeine cache. A bucket left idle for the longest rule period is
+ * full again, so dropping it then does not change any client's limit.
+ */
+@Component
+public class RateLimiter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final boolean enabled;
+
+    private final List<RateLimitRule> rules = new ArrayList<>();
+
+    private final Set<String> apiKeys = new HashSet<>();
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(@Value("${taskmanager.ratelimit.enabled}") boolean enabled,
+                       @Value("${taskmanager.ratelimit.rules}") String[] rules,
+                       @Value("${taskmanager.ratelimit.api-keys}") String[] apiKeys) {
+        this.enabled = enabled;
+        for (String apiKey : apiKeys) {
+            if (!apiKey.trim().isEmpty()) {
+                this.apiKeys.add(apiKey.trim());
+            }
+        }
+        Duration longestPeriod = Duration.ofSeconds(1);
+        for (String rule : rules) {
+            if (!rule.trim().isEmpty()) {
+                RateLimitRule parsed = RateLimitRule.parse(rule);
+                this.rules.add(parsed);
+                if (parsed.getPeriod().compareTo(longestPeriod) > 0) {
+                    longestPeriod = parsed.getPeriod();
+                }
+            }
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterAccess(longestPeriod)
+                .build();
+    }
+
+    /**
+     * Takes a permit for the request.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until the client's bucket
+     * has a permit again
+     */
+    public long acquire(HttpServletRequest request) {
+        if (!enabled) {
+            return 0L;
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitRule rule = rules.get(i);
+            if (rule.matches(request)) {
+                long now = System.nanoTime();
+                TokenBucket bucket = buckets.get(i + " " + clientKey(request), key -> rule.newBucket(now));
+                return bucket.tryAcquire(now);
+            }
+        }
+        return 0L;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "addr:" + request.getRemoteAddr();
+    }
+}
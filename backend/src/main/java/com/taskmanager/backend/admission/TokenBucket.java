@@ -0,0 +1,44 @@
+package com.taskmanager.backend.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that holds up to {@code capacity} permits and refills them evenly over
+ * {@code period}. Instead of a token count and a last-refill time, the state is the single
+ * instant at which the bucket would be full again (the generic cell rate algorithm), so taking
+ * a permit is one compare-and-set and never blocks.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, Duration period, long nowNanos) {
+        this.intervalNanos = Math.max(1L, period.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one permit.
+     *
+     * @return 0 if a permit was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.taskmanager.backend.archive;
+
+import com.taskmanager.backend.config.CacheConfig;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.ArchivedTask;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.model.TaskTombstone;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import com.taskmanager.backend.writebehind.TaskStatusBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retention for finished work: moves DONE tasks that have not changed for
+ * {@code taskmanager.archive.retention} from {@code tasks} to {@code tasks_archive}.
+ * <p>
+ * Each chunk of up to {@code batch-size} tasks is copied and deleted in its own transaction, so a
+ * large backlog never holds locks for long. Candidates are selected without locks, their buffered
+ * status changes are written first, and only then are the ones still unchanged locked and
+ * deleted, so a task whose buffered status change lands stays in place. Archived tasks get a tombstone, which makes delta sync clients drop them, and an
+ * {@code ARCHIVED} change event, which takes them out of the search index and the board
+ * statistics.
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManager entityManager;
+
+    private final TaskRevisionTracker revisionTracker;
+
+    private final TaskStatusBuffer statusBuffer;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Cache tasksCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter archived;
+
+    private final boolean enabled;
+
+    private final Duration retention;
+
+    private final int batchSize;
+
+    public TaskArchiver(TaskRepository taskRepository, EntityManager entityManager,
+                        TaskRevisionTracker revisionTracker, TaskStatusBuffer statusBuffer,
+                        ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                        @Value("${taskmanager.archive.enabled}") boolean enabled,
+                        @Value("${taskmanager.archive.retention}") Duration retention,
+                        @Value("${taskmanager.archive.batch-size}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.revisionTracker = revisionTracker;
+        this.statusBuffer = statusBuffer;
+        this.eventPublisher = eventPublisher;
+        this.tasksCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("task.archive.archived")
+                .description("Tasks moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.archive.interval-ms}",
+            initialDelayString = "${taskmanager.archive.interval-ms}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every DONE task last changed before now minus the retention period.
+     *
+     * @return the number of tasks archived
+     */
+    public int archive() {
+        Instant cutoff = Instant.now().minus(retention);
+        int total = 0;
+        Integer moved;
+        // a chunk whose candidates were all kept archives nothing, but the next one may
+        while ((moved = transactionTemplate.execute(status -> archiveChunk(cutoff))) != null) {
+            total += moved;
+        }
+        if (total > 0) {
+            log.info("Archived {} tasks done before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Archives up to {@code batch-size} tasks. Must run inside a transaction.
+     *
+     * @return the number of tasks archived, or {@code null} once no candidates are left
+     */
+    private Integer archiveChunk(Instant cutoff) {
+        List<Task> candidates = taskRepository.findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                TaskStatus.DONE, cutoff, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        Map<String, List<Long>> idsByWorkspace = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(candidates.size());
+        for (Task task : candidates) {
+            idsByWorkspace.computeIfAbsent(task.getWorkspaceId(), ws -> new ArrayList<>()).add(task.getId());
+            ids.add(task.getId());
+        }
+        // a buffered status change counts as a change: writing it first moves updated_at past the
+        // cutoff. It must happen before any row is locked here, since a running flush holds the
+        // buffer's lock while it locks rows.
+        idsByWorkspace.forEach(statusBuffer::writeThrough);
+
+        List<Task> unchanged = taskRepository.findByIdsUnchangedSince(ids, TaskStatus.DONE, cutoff);
+        if (unchanged.isEmpty()) {
+            return 0;
+        }
+        List<Long> unchangedIds = new ArrayList<>(unchanged.size());
+        for (Task task : unchanged) {
+            unchangedIds.add(task.getId());
+        }
+        int deleted = taskRepository.deleteByIdsUnchangedSince(unchangedIds, TaskStatus.DONE, cutoff);
+        long revision = revisionTracker.next();
+        Instant now = Instant.now();
+        for (Task task : unchanged) {
+            entityManager.persist(ArchivedTask.of(task, now));
+            entityManager.persist(new TaskTombstone(task.getId(), task.getWorkspaceId(), revision, now));
+            eventPublisher.publishEvent(
+                    TaskChangedEvent.archived(task.getWorkspaceId(), task.getId(), TaskStatus.DONE));
+            if (tasksCache != null) {
+                tasksCache.evict(CacheConfig.taskKey(task.getWorkspaceId(), task.getId()));
+            }
+        }
+        archived.increment(deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASKS_CACHE = "tasks";
+
+    /** Cache key for a task: its id within the current workspace. */
+    public static final String TASK_KEY = "T(com.taskmanager.backend.tenant.WorkspaceContext).current() + ':' + #id";
+
+    /** Keeps reads served by a possibly stale replica out of the cache. */
+    public static final String UNLESS_REPLICA_READ = "T(com.taskmanager.backend.replica.ReadConsistency).isReplicaRead()";
+
+    /** {@link #TASK_KEY} for code that evicts outside an annotated method. */
+    public static String taskKey(String workspaceId, Long id) {
+        return workspaceId + ":" + id;
+    }
+
+    /**
+     * Caffeine caches bounded by the configured spec. The manager is wrapped so that puts and
+     * evictions issued inside a transaction only reach the cache after it commits; a rolled back
+     * write never evicts, and a rolled back read never populates. A read whose deferred put would
+     * land after a concurrent write's eviction is dropped (see {@link InvalidationAwareCache}).
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${taskmanager.cache.tasks.spec}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new InvalidationAwareCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.from(spec));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
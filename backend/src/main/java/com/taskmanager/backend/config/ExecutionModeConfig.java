@@ -0,0 +1,58 @@
+package com.taskmanager.backend.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread execution, enabled with {@code taskmanager.execution.mode=virtual}.
+ * <p>
+ * Tomcat hands every request to a new virtual thread instead of its bounded worker pool, so a
+ * request blocked on a slow client or a stalled query no longer holds one of a few hundred
+ * platform threads. Concurrency is then bounded by {@code server.tomcat.max-connections} and the
+ * connection pool. Asynchronous MVC work (the NDJSON export) runs on virtual threads too.
+ * <p>
+ * The code base still compiles for Java 8, so the executor is looked up reflectively; starting in
+ * this mode on a JDK older than 21 fails fast.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.execution.mode", havingValue = "virtual")
+public class ExecutionModeConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("taskmanager.execution.mode=virtual requires Java 21 or later, "
+                    + "but this JVM is Java " + System.getProperty("java.version"));
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Could not create the virtual thread executor", ex);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor,
+                                                     ObjectProvider<TaskDecorator> taskDecorator) {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(virtualThreadExecutor);
+        taskDecorator.ifUnique(executor::setTaskDecorator);
+        return executor;
+    }
+}
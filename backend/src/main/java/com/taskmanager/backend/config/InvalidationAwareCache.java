@@ -0,0 +1,105 @@
+package com.taskmanager.backend.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Caffeine cache that drops puts racing with an eviction. A read-through put reaches the cache
+ * only after the reader's transaction commits, which can be after a concurrent writer committed
+ * and evicted the key; the value read before that write would then be cached until it expires.
+ * <p>
+ * Every eviction takes a new generation, recorded in a fixed number of slots the keys hash to.
+ * A miss remembers the generation current at the time, and the put that follows (on the same
+ * thread) is undone if the key's slot was evicted since. The put is checked after writing it,
+ * so an eviction landing in between either sees the value and removes it, or is seen by the
+ * check. Colliding keys only cost an extra miss.
+ */
+class InvalidationAwareCache extends CaffeineCache {
+
+    private static final int SLOTS = 1024;
+
+    /** Misses per thread whose put has not arrived yet; a read that fails never puts. */
+    private static final int MAX_PENDING_MISSES = 1024;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLongArray evictedAt = new AtomicLongArray(SLOTS);
+
+    private final AtomicLong clearedAt = new AtomicLong();
+
+    private final ThreadLocal<Map<Object, Long>> misses = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<Object, Long>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                    return size() > MAX_PENDING_MISSES;
+                }
+            });
+
+    InvalidationAwareCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                           boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            misses.get().put(key, generation.get());
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long missedAt = misses.get().remove(key);
+        if (missedAt == null) {
+            // no miss on this thread to date the value by, so it may predate any eviction
+            return;
+        }
+        super.put(key, value);
+        if (evictedSince(key, missedAt)) {
+            super.evict(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidated(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidated(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        clearedAt.accumulateAndGet(generation.incrementAndGet(), Math::max);
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearedAt.accumulateAndGet(generation.incrementAndGet(), Math::max);
+        return super.invalidate();
+    }
+
+    private void invalidated(Object key) {
+        evictedAt.accumulateAndGet(slot(key), generation.incrementAndGet(), Math::max);
+    }
+
+    private boolean evictedSince(Object key, long missedAt) {
+        return evictedAt.get(slot(key)) > missedAt || clearedAt.get() > missedAt;
+    }
+
+    private static int slot(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (SLOTS - 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskmanager.backend.config;
+
+import com.taskmanager.backend.replica.ReadConsistencyInterceptor;
+import com.taskmanager.backend.replica.ReadConsistencyTokens;
+import com.taskmanager.backend.replica.Replica;
+import com.taskmanager.backend.replica.ReplicaLagMonitor;
+import com.taskmanager.backend.replica.ReplicaRoutingDataSource;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, with {@code taskmanager.replicas.enabled=true}. The {@code spring.datasource}
+ * settings describe the primary; {@code taskmanager.replicas.urls} lists the replicas, which share
+ * the primary's credentials. Read-only transactions of API requests go to a replica, see
+ * {@link ReplicaRoutingDataSource}; everything else, including schema migration and background
+ * jobs, uses the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.replicas.enabled", havingValue = "true")
+public class ReplicaConfig implements WebMvcConfigurer {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             @Value("${taskmanager.replicas.urls}") List<String> urls,
+                                                             @Value("${taskmanager.replicas.pool-size}") int poolSize) {
+        List<Replica> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(properties.determineUsername());
+            config.setPassword(properties.determinePassword());
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            replicas.add(new Replica(name, new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               HikariDataSource primaryDataSource,
+                                               @Value("${taskmanager.replicas.max-lag}") Duration maxLag) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, primaryDataSource, maxLag);
+    }
+
+    @Bean
+    public ReadConsistencyTokens readConsistencyTokens(TaskRevisionTracker revisionTracker) {
+        return new ReadConsistencyTokens(revisionTracker);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadConsistencyInterceptor()).addPathPatterns("/api/**");
+    }
+}
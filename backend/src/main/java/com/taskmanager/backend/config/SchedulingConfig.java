@@ -0,0 +1,12 @@
+package com.taskmanager.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the outbox relay.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
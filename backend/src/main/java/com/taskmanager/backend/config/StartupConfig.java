@@ -0,0 +1,47 @@
+package com.taskmanager.backend.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.Method;
+
+/**
+ * Startup support for the fast-startup profile (application-fast-startup.properties).
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps beans with {@code @Scheduled} methods eager under lazy initialization: their jobs are
+     * registered when the bean is created, and nothing else may ask for them.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    /**
+     * Exits once the application is ready, with {@code taskmanager.startup.exit-on-ready=true}.
+     * Used by the AppCDS training run, which records the classes loaded up to that point.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "taskmanager.startup.exit-on-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) (Method method) ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null)
+                .isEmpty();
+    }
+}
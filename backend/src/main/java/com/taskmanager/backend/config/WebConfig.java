@@ -0,0 +1,49 @@
+package com.taskmanager.backend.config;
+
+import com.taskmanager.backend.admission.AdmissionInterceptor;
+import com.taskmanager.backend.admission.LoadShedder;
+import com.taskmanager.backend.admission.RateLimiter;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import com.taskmanager.backend.tenant.WorkspaceInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+
+    private final LoadShedder loadShedder;
+
+    private final Duration sheddingRetryAfter;
+
+    public WebConfig(RateLimiter rateLimiter, LoadShedder loadShedder,
+                     @Value("${taskmanager.loadshed.retry-after}") Duration sheddingRetryAfter) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.sheddingRetryAfter = sheddingRetryAfter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // registered first so rejected requests do no other work
+        registry.addInterceptor(new AdmissionInterceptor(rateLimiter, loadShedder, sheddingRetryAfter))
+                .addPathPatterns("/api/**");
+        registry.addInterceptor(new WorkspaceInterceptor()).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Picked up by the application task executor, which runs asynchronous MVC work such as the
+     * streamed export, so that work stays in the caller's workspace.
+     */
+    @Bean
+    public TaskDecorator workspaceTaskDecorator() {
+        return WorkspaceContext.propagating();
+    }
+}
@@ -1,56 +1,222 @@
 package com.taskmanager.backend.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.backend.dto.BulkCreateTaskRequest;
+import com.taskmanager.backend.dto.BulkDeleteTaskRequest;
+import com.taskmanager.backend.dto.BulkOperationResponse;
+import com.taskmanager.backend.dto.BulkUpdateTaskStatusRequest;
 import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.MoveTaskRequest;
+import com.taskmanager.backend.dto.TaskChangesResponse;
+import com.taskmanager.backend.dto.TaskCountResponse;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskSearchResponse;
+import com.taskmanager.backend.dto.TaskStatsResponse;
+import com.taskmanager.backend.dto.TaskSummary;
 import com.taskmanager.backend.dto.UpdateTaskRequest;
 import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.event.TaskChangeFeed;
+import com.taskmanager.backend.exception.TaskVersionMismatchException;
+import com.taskmanager.backend.idempotency.IdempotencyStore;
 import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.replica.ReadConsistency;
 import com.taskmanager.backend.service.TaskService;
+import com.taskmanager.backend.tenant.WorkspaceContext;
 import javax.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/tasks")
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = {HttpHeaders.ETAG, IdempotencyStore.REPLAYED_HEADER,
+        ReadConsistency.HEADER})
 public class TaskController {
 
     private final TaskService taskService;
 
-    public TaskController(TaskService taskService) {
+    private final ObjectMapper objectMapper;
+
+    private final TaskChangeFeed changeFeed;
+
+    private final IdempotencyStore idempotencyStore;
+
+    public TaskController(TaskService taskService, ObjectMapper objectMapper, TaskChangeFeed changeFeed,
+                          IdempotencyStore idempotencyStore) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.changeFeed = changeFeed;
+        this.idempotencyStore = idempotencyStore;
     }
 
+    /**
+     * With an {@code Idempotency-Key} header, retries of the same request get the response of the
+     * first one, marked with {@code Idempotent-Replayed: true}.
+     */
     @PostMapping
-    public ResponseEntity<Task> createTask(@Valid @RequestBody CreateTaskRequest request) {
-        Task task = taskService.createTask(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(task);
+    public ResponseEntity<Task> createTask(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                           @Valid @RequestBody CreateTaskRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            Task task = taskService.createTask(request);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(task)).body(task);
+        }
+        return idempotencyStore.execute(idempotencyKey, "create", request, new TypeReference<Task>() {}, () -> {
+            Task task = taskService.createTask(request);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(task)).body(task);
+        });
     }
 
+    /**
+     * Without query parameters the full list is returned. Passing any of {@code status},
+     * {@code limit} or {@code cursor} switches to cursor pagination, where the
+     * {@code nextCursor} of one page is passed back to fetch the next. Archived tasks are left
+     * out unless {@code includeArchived=true}.
+     */
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) TaskStatus status,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (status == null && limit == null && cursor == null) {
+            List<Task> tasks = taskService.getAllTasks(includeArchived);
+            return ResponseEntity.ok(tasks);
+        }
+        TaskPage<Task> page = taskService.getTasks(status, limit, cursor, includeArchived);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Board column view: summaries (no description) of the tasks in one status, paged by cursor.
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<TaskPage<TaskSummary>> getTaskSummaries(@PathVariable TaskStatus status,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(required = false) String cursor) {
+        TaskPage<TaskSummary> page = taskService.getTaskSummaries(status, limit, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/status/{status}/count")
+    public ResponseEntity<TaskCountResponse> countTasksByStatus(@PathVariable TaskStatus status) {
+        long count = taskService.countTasksByStatus(status);
+        return ResponseEntity.ok(new TaskCountResponse(status, count));
+    }
+
+    /**
+     * Task counts per status for the board header, answered without querying the tasks.
+     */
+    @GetMapping("/stats")
+    public TaskStatsResponse getStats() {
+        return taskService.getStats();
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> searchTasks(@RequestParam("q") String query,
+                                                          @RequestParam(required = false) Integer page,
+                                                          @RequestParam(required = false) Integer size) {
+        TaskSearchResponse response = taskService.searchTasks(query, page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delta sync: tasks changed or deleted after revision {@code since}. Clients pass the
+     * returned {@code nextSince} on their next call and repeat while {@code hasMore} is set.
+     */
+    @GetMapping("/changes")
+    public TaskChangesResponse getChanges(@RequestParam(required = false) Long since,
+                                          @RequestParam(required = false) Integer limit) {
+        return taskService.getChanges(since, limit);
+    }
+
+    /**
+     * Server-Sent Events feed of task changes. Browsers resume automatically through the
+     * {@code Last-Event-ID} header; other clients can pass the last seen sequence as {@code since}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                        @RequestParam(required = false) Long since) {
+        Long lastSequence = since;
+        if (lastSequence == null && lastEventId != null) {
+            try {
+                lastSequence = Long.valueOf(lastEventId.trim());
+            } catch (NumberFormatException ex) {
+                // unknown id: start from now
+            }
+        }
+        return changeFeed.subscribe(WorkspaceContext.current(), lastSequence);
+    }
+
+    /**
+     * Writes every task as newline-delimited JSON while it is read from the database, so the
+     * export never materialises the full list in memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                taskService.exportTasks(task -> writeLine(out, writer, task));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    /**
+     * The version is sent as a strong {@code ETag}; a matching {@code If-None-Match} is answered
+     * with 304 Not Modified and no body. A task showing a buffered status has no ETag until the
+     * status is written, since that write gives it a new version.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         Task task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return withETag(ResponseEntity.ok(), task);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request) {
-        Task task = taskService.updateTask(id, request);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<Task> updateTask(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @Valid @RequestBody UpdateTaskRequest request) {
+        Task task = taskService.updateTask(id, request, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(task)).body(task);
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @Valid @RequestBody UpdateTaskStatusRequest request) {
-        Task task = taskService.updateTaskStatus(id, request);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @Valid @RequestBody UpdateTaskStatusRequest request) {
+        Task task = taskService.updateTaskStatus(id, request, parseIfMatch(ifMatch));
+        return withETag(ResponseEntity.ok(), task);
+    }
+
+    /**
+     * Drag and drop: places the task between the given neighbours, in the same or another
+     * column, by rewriting only this task's rank.
+     */
+    @PatchMapping("/{id}/position")
+    public ResponseEntity<Task> moveTask(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         @RequestBody MoveTaskRequest request) {
+        Task task = taskService.moveTask(id, request, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(task)).body(task);
     }
 
     @DeleteMapping("/{id}")
@@ -58,4 +224,66 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Task>> createTasks(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                  @Valid @RequestBody BulkCreateTaskRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            List<Task> tasks = taskService.createTasks(request.getTasks());
+            return ResponseEntity.status(HttpStatus.CREATED).body(tasks);
+        }
+        return idempotencyStore.execute(idempotencyKey, "bulk-create", request, new TypeReference<List<Task>>() {},
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(request.getTasks())));
+    }
+
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkOperationResponse> updateTaskStatuses(@Valid @RequestBody BulkUpdateTaskStatusRequest request) {
+        int updated = taskService.updateTaskStatuses(request.getIds(), request.getStatus());
+        return ResponseEntity.ok(new BulkOperationResponse(request.getIds().size(), updated));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkOperationResponse> deleteTasks(@Valid @RequestBody BulkDeleteTaskRequest request) {
+        int deleted = taskService.deleteTasks(request.getIds());
+        return ResponseEntity.ok(new BulkOperationResponse(request.getIds().size(), deleted));
+    }
+
+    private static void writeLine(OutputStream out, ObjectWriter writer, Task task) {
+        try {
+            out.write(writer.writeValueAsBytes(task));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String eTag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    private static ResponseEntity<Task> withETag(ResponseEntity.BodyBuilder response, Task task) {
+        if (!task.isStatusPending()) {
+            response.eTag(eTag(task));
+        }
+        return response.body(task);
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header, or {@code null} when the
+     * header is absent or {@code *}. Anything other than a single strong ETag can never match.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // fall through to the mismatch below
+            }
+        }
+        throw new TaskVersionMismatchException("If-Match does not match the current task version: " + ifMatch);
+    }
+}
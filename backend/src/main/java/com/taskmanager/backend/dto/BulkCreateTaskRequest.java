@@ -0,0 +1,28 @@
+package com.taskmanager.backend.dto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class BulkCreateTaskRequest {
+
+    @NotEmpty(message = "Tasks must not be empty")
+    @Size(max = 10000, message = "At most 10000 tasks can be created at once")
+    @Valid
+    private List<CreateTaskRequest> tasks;
+
+    public BulkCreateTaskRequest() {}
+
+    public BulkCreateTaskRequest(List<CreateTaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<CreateTaskRequest> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<CreateTaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.backend.dto;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class BulkDeleteTaskRequest {
+
+    @NotEmpty(message = "Ids must not be empty")
+    @Size(max = 10000, message = "At most 10000 tasks can be deleted at once")
+    private List<Long> ids;
+
+    public BulkDeleteTaskRequest() {}
+
+    public BulkDeleteTaskRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskmanager.backend.dto;
+
+public class BulkOperationResponse {
+
+    private final int requested;
+
+    private final int affected;
+
+    public BulkOperationResponse(int requested, int affected) {
+        this.requested = requested;
+        this.affected = affected;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+}
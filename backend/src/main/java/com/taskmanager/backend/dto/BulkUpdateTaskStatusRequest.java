@@ -0,0 +1,40 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.TaskStatus;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class BulkUpdateTaskStatusRequest {
+
+    @NotEmpty(message = "Ids must not be empty")
+    @Size(max = 10000, message = "At most 10000 tasks can be updated at once")
+    private List<Long> ids;
+
+    @NotNull(message = "Status must not be null")
+    private TaskStatus status;
+
+    public BulkUpdateTaskStatusRequest() {}
+
+    public BulkUpdateTaskStatusRequest(List<Long> ids, TaskStatus status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.TaskStatus;
+
+/**
+ * Where a dragged task was dropped: the column and the tasks directly above ({@code afterId})
+ * and below ({@code beforeId}) the drop point. A missing neighbour means the top or bottom of
+ * the column; with neither, the task goes to the bottom. A missing status keeps the current
+ * column.
+ */
+public class MoveTaskRequest {
+
+    private TaskStatus status;
+
+    private Long afterId;
+
+    private Long beforeId;
+
+    public MoveTaskRequest() {}
+
+    public MoveTaskRequest(TaskStatus status, Long afterId, Long beforeId) {
+        this.status = status;
+        this.afterId = afterId;
+        this.beforeId = beforeId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+
+    public Long getBeforeId() {
+        return beforeId;
+    }
+
+    public void setBeforeId(Long beforeId) {
+        this.beforeId = beforeId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+
+public class TaskChangeNotification {
+
+    private final long sequence;
+
+    private final TaskChangedEvent.Type type;
+
+    private final Long taskId;
+
+    private final TaskStatus status;
+
+    private final Task task;
+
+    public TaskChangeNotification(long sequence, TaskChangedEvent.Type type, Long taskId, TaskStatus status, Task task) {
+        this.sequence = sequence;
+        this.type = type;
+        this.taskId = taskId;
+        this.status = status;
+        this.task = task;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TaskChangedEvent.Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
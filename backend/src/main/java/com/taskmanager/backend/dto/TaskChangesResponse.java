@@ -0,0 +1,43 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskTombstone;
+
+import java.util.List;
+
+public class TaskChangesResponse {
+
+    private final List<Task> changed;
+
+    private final List<TaskTombstone> deleted;
+
+    private final long nextSince;
+
+    private final boolean hasMore;
+
+    public TaskChangesResponse(List<Task> changed, List<TaskTombstone> deleted, long nextSince, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public List<Task> getChanged() {
+        return changed;
+    }
+
+    public List<TaskTombstone> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Revision to pass as {@code since} on the next sync.
+     */
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
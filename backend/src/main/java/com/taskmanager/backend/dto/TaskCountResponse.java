@@ -0,0 +1,23 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.TaskStatus;
+
+public class TaskCountResponse {
+
+    private final TaskStatus status;
+
+    private final long count;
+
+    public TaskCountResponse(TaskStatus status, long count) {
+        this.status = status;
+        this.count = count;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
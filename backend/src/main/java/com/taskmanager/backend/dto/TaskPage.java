@@ -0,0 +1,27 @@
+package com.taskmanager.backend.dto;
+
+import java.util.List;
+
+public class TaskPage<T> {
+
+    private final List<T> items;
+
+    private final String nextCursor;
+
+    public TaskPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
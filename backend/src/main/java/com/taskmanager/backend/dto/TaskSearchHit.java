@@ -0,0 +1,23 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.Task;
+
+public class TaskSearchHit {
+
+    private final Task task;
+
+    private final double score;
+
+    public TaskSearchHit(Task task, double score) {
+        this.task = task;
+        this.score = score;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.backend.dto;
+
+import java.util.List;
+
+public class TaskSearchResponse {
+
+    private final List<TaskSearchHit> hits;
+
+    private final long total;
+
+    private final int page;
+
+    private final int size;
+
+    public TaskSearchResponse(List<TaskSearchHit> hits, long total, int page, int size) {
+        this.hits = hits;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<TaskSearchHit> getHits() {
+        return hits;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
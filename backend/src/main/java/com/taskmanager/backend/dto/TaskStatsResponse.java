@@ -0,0 +1,32 @@
+package com.taskmanager.backend.dto;
+
+public class TaskStatsResponse {
+
+    private final long todo;
+
+    private final long inProgress;
+
+    private final long done;
+
+    public TaskStatsResponse(long todo, long inProgress, long done) {
+        this.todo = todo;
+        this.inProgress = inProgress;
+        this.done = done;
+    }
+
+    public long getTodo() {
+        return todo;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public long getDone() {
+        return done;
+    }
+
+    public long getTotal() {
+        return todo + inProgress + done;
+    }
+}
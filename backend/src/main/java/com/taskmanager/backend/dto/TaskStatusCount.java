@@ -0,0 +1,33 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.TaskStatus;
+
+/**
+ * One row of the per-workspace, per-status task count.
+ */
+public class TaskStatusCount {
+
+    private final String workspaceId;
+
+    private final TaskStatus status;
+
+    private final long count;
+
+    public TaskStatusCount(String workspaceId, TaskStatus status, long count) {
+        this.workspaceId = workspaceId;
+        this.status = status;
+        this.count = count;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
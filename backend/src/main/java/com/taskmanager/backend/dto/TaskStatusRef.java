@@ -0,0 +1,26 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.TaskStatus;
+
+/**
+ * A task's id and current status, read by bulk operations before they change the rows.
+ */
+public class TaskStatusRef {
+
+    private final Long id;
+
+    private final TaskStatus status;
+
+    public TaskStatusRef(Long id, TaskStatus status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+}
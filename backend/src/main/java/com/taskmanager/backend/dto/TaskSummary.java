@@ -0,0 +1,47 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.model.TaskStatus;
+
+/**
+ * Board card view of a task: everything but the description, which is the only large column.
+ */
+public class TaskSummary {
+
+    private final Long id;
+
+    private final String title;
+
+    private final TaskStatus status;
+
+    private final String rank;
+
+    private final Long version;
+
+    public TaskSummary(Long id, String title, TaskStatus status, String rank, Long version) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.rank = rank;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,354 @@
+package com.taskmanager.backend.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.TaskChangeNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fans committed task changes out to Server-Sent Events subscribers.
+ * <p>
+ * Every change gets a sequence number and is kept in a bounded replay buffer, so a client that
+ * reconnects with {@code Last-Event-ID} receives only the changes it missed. If those are no
+ * longer buffered, it receives a {@code reset} event and should reload its task list. The
+ * sequence starts from the startup time in microseconds, so ids from before a restart are
+ * always older than the buffer and trigger a reset.
+ * <p>
+ * Each subscriber only receives changes of its own workspace.
+ * <p>
+ * Connections are held as asynchronous requests, not threads. Sequencing, replay and broadcast
+ * all run on a single dispatcher thread, so subscribers always see changes in sequence order
+ * and without gaps between replay and live delivery. The dispatcher only queues events; the
+ * queues are written out by a small, fixed pool of sender threads, so a client that reads slowly
+ * holds up nobody but itself. When its queue is full it is cleared and replaced by a
+ * {@code reset} event, as if the client had reconnected too late for a replay. A client whose
+ * single write has been blocked for longer than the stall timeout is dropped and its sender
+ * interrupted, so dead connections cannot pin the pool.
+ */
+@Component
+public class TaskChangeFeed {
+
+    static final String CHANGE_EVENT = "task";
+
+    static final String RESET_EVENT = "reset";
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    private final Deque<BufferedChange> replayBuffer = new ArrayDeque<>();
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService senders;
+
+    private final ObjectMapper objectMapper;
+
+    private final int replayBufferSize;
+
+    private final int subscriberQueueSize;
+
+    private final long emitterTimeoutMillis;
+
+    private final long stallTimeoutNanos;
+
+    private long sequence = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+
+    public TaskChangeFeed(ObjectMapper objectMapper,
+                          @Value("${taskmanager.stream.replay-buffer-size}") int replayBufferSize,
+                          @Value("${taskmanager.stream.subscriber-queue-size}") int subscriberQueueSize,
+                          @Value("${taskmanager.stream.sender-threads}") int senderThreads,
+                          @Value("${taskmanager.stream.stall-timeout}") Duration stallTimeout,
+                          @Value("${taskmanager.stream.emitter-timeout}") Duration emitterTimeout,
+                          @Value("${taskmanager.stream.heartbeat-interval}") Duration heartbeatInterval) {
+        this.objectMapper = objectMapper;
+        this.replayBufferSize = replayBufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.stallTimeoutNanos = stallTimeout.toNanos();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-change-feed-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long stallCheckMillis = Math.max(10L, stallTimeout.toMillis() / 2);
+        dispatcher.scheduleAtFixedRate(this::dropStalled, stallCheckMillis, stallCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of a workspace's changes. With {@code lastSequence} the client resumes after
+     * that change; without it only changes from now on are sent.
+     */
+    public SseEmitter subscribe(String workspaceId, Long lastSequence) {
+        return subscribe(workspaceId, lastSequence, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(String workspaceId, Long lastSequence, SseEmitter emitter) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        dispatcher.execute(() -> {
+            Subscriber subscriber = new Subscriber(emitter, workspaceId);
+            if (lastSequence != null) {
+                replay(subscriber, lastSequence);
+            }
+            subscribers.put(emitter, subscriber);
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        dispatcher.execute(() -> publish(event));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (SseEmitter emitter : subscribers.keySet()) {
+            emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void publish(TaskChangedEvent event) {
+        long next = ++sequence;
+        TaskChangeNotification notification = new TaskChangeNotification(
+                next, event.getType(), event.getTaskId(), event.getStatus(), event.getTask());
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize change {} for task {}", next, event.getTaskId(), ex);
+            return;
+        }
+        BufferedChange change = new BufferedChange(next, event.getWorkspaceId(), payload);
+        replayBuffer.addLast(change);
+        if (replayBuffer.size() > replayBufferSize) {
+            replayBuffer.removeFirst();
+        }
+        for (Subscriber subscriber : subscribers.values()) {
+            if (change.workspaceId.equals(subscriber.workspaceId)) {
+                subscriber.enqueue(change.sequence, () -> changeEvent(change));
+            }
+        }
+    }
+
+    /**
+     * Queues the buffered changes after {@code lastSequence}, or a reset when some of them have
+     * already been evicted.
+     */
+    private void replay(Subscriber subscriber, long lastSequence) {
+        BufferedChange oldest = replayBuffer.peekFirst();
+        long oldestAvailable = oldest != null ? oldest.sequence : sequence + 1;
+        if (lastSequence < oldestAvailable - 1 || lastSequence > sequence) {
+            long resetSequence = sequence;
+            subscriber.enqueue(resetSequence, () -> resetEvent(resetSequence));
+            return;
+        }
+        for (BufferedChange change : replayBuffer) {
+            if (change.sequence > lastSequence && change.workspaceId.equals(subscriber.workspaceId)) {
+                subscriber.enqueue(change.sequence, () -> changeEvent(change));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.heartbeat();
+        }
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.dropIfStalled(now);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder changeEvent(BufferedChange change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.sequence))
+                .name(CHANGE_EVENT)
+                .data(change.payload, MediaType.APPLICATION_JSON);
+    }
+
+    private static SseEmitter.SseEventBuilder resetEvent(long sequence) {
+        return SseEmitter.event().id(String.valueOf(sequence)).name(RESET_EVENT).data("");
+    }
+
+    /**
+     * An emitter with its queue of events not yet written. Events are queued by the dispatcher
+     * and written by at most one sender thread at a time, in queue order. A sender writes a
+     * limited run of events and then yields the thread to the other subscribers.
+     */
+    private final class Subscriber implements Runnable {
+
+        private static final int EVENTS_PER_RUN = 64;
+
+        private final SseEmitter emitter;
+
+        private final String workspaceId;
+
+        // events are built when sent: a built SseEventBuilder cannot be sent again
+        private final Deque<Supplier<SseEmitter.SseEventBuilder>> queue = new ArrayDeque<>();
+
+        private boolean sending;
+
+        private boolean closed;
+
+        /** When the write in progress started, or 0 while none is. */
+        private long writeStartedAt;
+
+        private Thread writer;
+
+        private Subscriber(SseEmitter emitter, String workspaceId) {
+            this.emitter = emitter;
+            this.workspaceId = workspaceId;
+        }
+
+        private void enqueue(long sequence, Supplier<SseEmitter.SseEventBuilder> event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= subscriberQueueSize) {
+                    log.debug("Subscriber fell {} events behind, sending a reset", queue.size());
+                    queue.clear();
+                    queue.addLast(() -> resetEvent(sequence));
+                } else {
+                    queue.addLast(event);
+                }
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            senders.execute(this);
+        }
+
+        /** A heartbeat only keeps an idle connection open; a busy one needs none. */
+        private void heartbeat() {
+            synchronized (this) {
+                if (sending || closed) {
+                    return;
+                }
+                queue.addLast(() -> SseEmitter.event().comment("heartbeat"));
+                sending = true;
+            }
+            senders.execute(this);
+        }
+
+        /**
+         * Drops the subscriber when its current write started more than the stall timeout ago.
+         * The writer is interrupted while this lock is held, so only a thread still inside that
+         * write can be hit.
+         */
+        private void dropIfStalled(long now) {
+            synchronized (this) {
+                if (closed || writeStartedAt == 0L || now - writeStartedAt < stallTimeoutNanos) {
+                    return;
+                }
+                log.debug("Dropping a subscriber whose write has been blocked for {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(now - writeStartedAt));
+                close();
+                writer.interrupt();
+            }
+            emitter.completeWithError(new IOException("Subscriber stopped reading"));
+        }
+
+        @Override
+        public void run() {
+            for (int sent = 0; ; sent++) {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                synchronized (this) {
+                    event = closed ? null : queue.pollFirst();
+                    if (event == null) {
+                        // a closed subscriber stays marked as sending, so nothing is queued for it
+                        sending = closed;
+                        return;
+                    }
+                    if (sent == EVENTS_PER_RUN) {
+                        queue.addFirst(event);
+                        break;
+                    }
+                    writer = Thread.currentThread();
+                    writeStartedAt = Math.max(1L, System.nanoTime());
+                }
+                try {
+                    emitter.send(event.get());
+                } catch (IOException | IllegalStateException ex) {
+                    boolean stalled;
+                    synchronized (this) {
+                        stalled = closed;
+                        close();
+                    }
+                    if (!stalled) {
+                        emitter.completeWithError(ex);
+                    }
+                    return;
+                } finally {
+                    synchronized (this) {
+                        writeStartedAt = 0L;
+                        writer = null;
+                    }
+                    // an interrupt meant for this write must not reach the next subscriber
+                    Thread.interrupted();
+                }
+            }
+            senders.execute(this);
+        }
+
+        /** Must hold the lock. */
+        private void close() {
+            closed = true;
+            queue.clear();
+            subscribers.remove(emitter);
+        }
+    }
+
+    private static final class BufferedChange {
+
+        private final long sequence;
+
+        private final String workspaceId;
+
+        private final String payload;
+
+        private BufferedChange(long sequence, String workspaceId, String payload) {
+            this.sequence = sequence;
+            this.workspaceId = workspaceId;
+            this.payload = payload;
+        }
+    }
+}
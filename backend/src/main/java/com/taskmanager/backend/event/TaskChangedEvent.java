@@ -0,0 +1,116 @@
+package com.taskmanager.backend.event;
+
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+
+/**
+ * Published by the task service for every task mutation. Listeners that must only observe
+ * committed state use {@code @TransactionalEventListener}.
+ */
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        MOVED,
+        DELETED,
+        ARCHIVED
+    }
+
+    private final Type type;
+
+    private final String workspaceId;
+
+    private final Long taskId;
+
+    private final Task task;
+
+    private final TaskStatus status;
+
+    private final TaskStatus previousStatus;
+
+    private TaskChangedEvent(Type type, String workspaceId, Long taskId, Task task, TaskStatus status,
+                             TaskStatus previousStatus) {
+        this.type = type;
+        this.workspaceId = workspaceId;
+        this.taskId = taskId;
+        this.task = task;
+        this.status = status;
+        this.previousStatus = previousStatus;
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getWorkspaceId(), task.getId(), task, task.getStatus(), null);
+    }
+
+    public static TaskChangedEvent updated(Task task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.UPDATED, task.getWorkspaceId(), task.getId(), task, task.getStatus(),
+                previousStatus);
+    }
+
+    public static TaskChangedEvent statusChanged(Task task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.STATUS_CHANGED, task.getWorkspaceId(), task.getId(), task, task.getStatus(),
+                previousStatus);
+    }
+
+    /**
+     * New position within a column, possibly a different one than {@code previousStatus}.
+     */
+    public static TaskChangedEvent moved(Task task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.MOVED, task.getWorkspaceId(), task.getId(), task, task.getStatus(),
+                previousStatus);
+    }
+
+    /**
+     * Status change applied without loading the task, as done by bulk updates.
+     */
+    public static TaskChangedEvent statusChanged(String workspaceId, Long taskId, TaskStatus status,
+                                                 TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.STATUS_CHANGED, workspaceId, taskId, null, status, previousStatus);
+    }
+
+    public static TaskChangedEvent deleted(String workspaceId, Long taskId, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.DELETED, workspaceId, taskId, null, null, previousStatus);
+    }
+
+    /**
+     * Moved to the archive by retention; the task leaves the working set like a deletion.
+     */
+    public static TaskChangedEvent archived(String workspaceId, Long taskId, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.ARCHIVED, workspaceId, taskId, null, null, previousStatus);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * The task as written, or {@code null} for deletions, archiving and bulk status changes.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * The task's status after the change, or {@code null} for deletions and archiving.
+     */
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The task's status before the change, or {@code null} for creations.
+     */
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.backend.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency-Key '" + key + "' was already used for a different request");
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.backend.exception;
+
+public class InvalidWorkspaceException extends RuntimeException {
+
+    public InvalidWorkspaceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.backend.exception;
+
+public class TaskMoveConflictException extends RuntimeException {
+
+    public TaskMoveConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.backend.exception;
+
+public class TaskVersionMismatchException extends RuntimeException {
+
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,170 @@
+package com.taskmanager.backend.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.backend.exception.IdempotencyKeyMismatchException;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key} header, so that a client
+ * retrying after a timeout gets the original result instead of creating the task again.
+ * <p>
+ * Keys are scoped to the workspace. The first request with a key runs; duplicates arriving while
+ * it is still running wait for it and share its result, and later duplicates are answered from
+ * the store until the entry expires or is evicted. A failed request is forgotten so that it can
+ * be retried. Reusing a key for a different operation or request body is rejected.
+ * <p>
+ * The response is stored as its status, ETag and serialized body, so a replay answers exactly what
+ * the first request did even if the tasks have changed or gone since; the body is read back and
+ * written again for the retry's {@code Accept} header. Each entry weighs its size in bytes, so
+ * {@code maximumWeight} in {@code taskmanager.idempotency.spec} bounds the memory held across all
+ * keys.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    /** Set to {@code true} on responses answered from the store. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String REPLAYS_METRIC = "task.idempotency.replays";
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, Entry> entries;
+
+    private final Counter replays;
+
+    public IdempotencyStore(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${taskmanager.idempotency.spec}") String spec) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.from(spec)
+                .weigher((String key, Entry entry) -> entry.weight())
+                .build();
+        this.replays = Counter.builder(REPLAYS_METRIC)
+                .description("Requests answered from the idempotency store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key already ran or is running, in which
+     * case its stored response is returned with {@code Idempotent-Replayed: true}.
+     *
+     * @param operation identifies the endpoint, so a key cannot be replayed across endpoints
+     * @param request   the request body; a duplicate must send an equal body
+     * @param bodyType  the type the stored body is read back as
+     */
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request, TypeReference<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        String scopedKey = WorkspaceContext.current() + ':' + key;
+        Entry entry = new Entry(fingerprint(operation, request));
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, entry);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(entry.fingerprint)) {
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            replays.increment();
+            return replay(await(existing.result), bodyType);
+        }
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.result.complete(new StoredResponse(response.getStatusCodeValue(), response.getHeaders().getETag(),
+                    serialize(operation, response.getBody())));
+            // re-weigh the entry now that its size is known
+            entries.asMap().replace(scopedKey, entry, entry);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            entries.asMap().remove(scopedKey, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        return operation + ':' + DigestUtils.md5DigestAsHex(serialize(operation, request));
+    }
+
+    private byte[] serialize(String operation, Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize body for " + operation, ex);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, TypeReference<T> bodyType) {
+        T body;
+        try {
+            body = objectMapper.readValue(stored.body, bodyType);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read back a stored response", ex);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status).header(REPLAYED_HEADER, "true");
+        if (stored.eTag != null) {
+            response.eTag(stored.eTag);
+        }
+        return response.body(body);
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            // rethrow what the original request failed with
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /** Roughly the bytes held: the key's fingerprint plus the stored body. */
+        private int weight() {
+            StoredResponse stored = result.getNow(null);
+            return fingerprint.length() + (stored == null ? 0 : stored.body.length);
+        }
+    }
+
+    private static final class StoredResponse {
+
+        private final int status;
+
+        private final String eTag;
+
+        private final byte[] body;
+
+        private StoredResponse(int status, String eTag, byte[] body) {
+            this.status = status;
+            this.eTag = eTag;
+            this.body = body;
+        }
+    }
+}
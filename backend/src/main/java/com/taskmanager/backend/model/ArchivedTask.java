@@ -0,0 +1,85 @@
+package com.taskmanager.backend.model;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A DONE task moved out of the hot {@code tasks} table by the archiver. It keeps its id and
+ * content and is read-only; reads hand it out as a {@link Task} with {@code archivedAt} set.
+ */
+@Entity
+@Table(name = "tasks_archive", indexes = {
+        @Index(name = "idx_tasks_archive_workspace_id", columnList = "workspace_id, id"),
+        @Index(name = "idx_tasks_archive_workspace_status_id", columnList = "workspace_id, status, id")
+})
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(name = "workspace_id", nullable = false, length = 64)
+    private String workspaceId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    private Long version;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    public ArchivedTask() {}
+
+    public static ArchivedTask of(Task task, Instant archivedAt) {
+        ArchivedTask archived = new ArchivedTask();
+        archived.id = task.getId();
+        archived.workspaceId = task.getWorkspaceId();
+        archived.title = task.getTitle();
+        archived.description = task.getDescription();
+        archived.status = task.getStatus();
+        archived.version = task.getVersion();
+        archived.createdAt = task.getCreatedAt();
+        archived.updatedAt = task.getUpdatedAt();
+        archived.archivedAt = archivedAt;
+        return archived;
+    }
+
+    public Task toTask() {
+        Task task = new Task(id, title, description, status);
+        task.setWorkspaceId(workspaceId);
+        task.setVersion(version);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(updatedAt);
+        task.setArchivedAt(archivedAt);
+        return task;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
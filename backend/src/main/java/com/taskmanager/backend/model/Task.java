@@ -1,16 +1,34 @@
 package com.taskmanager.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.backend.rank.RankKeys;
+import com.taskmanager.backend.sync.TaskRevisionListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
+import java.time.Instant;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_workspace_id", columnList = "workspace_id, id"),
+        @Index(name = "idx_tasks_workspace_status_id", columnList = "workspace_id, status, id"),
+        @Index(name = "idx_tasks_workspace_status_rank", columnList = "workspace_id, status, sort_rank, id"),
+        @Index(name = "idx_tasks_workspace_revision", columnList = "workspace_id, revision"),
+        @Index(name = "idx_tasks_status_updated", columnList = "status, updated_at")
+})
+@EntityListeners(TaskRevisionListener.class)
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 100)
     private Long id;
 
+    @JsonIgnore
+    @Column(name = "workspace_id", nullable = false, updatable = false, length = 64)
+    private String workspaceId;
+
     @NotBlank(message = "Title must not be blank")
     @Column(nullable = false)
     private String title;
@@ -22,6 +40,35 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.TODO;
 
+    /**
+     * Position within the status column: a fractional key, see {@link RankKeys}. Ties are
+     * ordered by id.
+     */
+    @Column(name = "sort_rank", nullable = false)
+    private String rank = RankKeys.INITIAL;
+
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private Long revision;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /** Set only on tasks read from the archive, see {@link ArchivedTask}. */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant archivedAt;
+
+    /** Set on copies showing a status still held by the write-behind buffer. */
+    @Transient
+    @JsonIgnore
+    private boolean statusPending;
+
     public Task() {}
 
     public Task(Long id, String title, String description, TaskStatus status) {
@@ -39,6 +86,17 @@ public class Task {
         this.id = id;
     }
 
+    /**
+     * The workspace (tenant) owning this task; fixed at creation.
+     */
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -62,4 +120,63 @@ public class Task {
     public void setStatus(TaskStatus status) {
         this.status = status;
     }
-} 
\ No newline at end of file
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Position of the latest change to this task in the global change order, used by delta sync.
+     */
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public boolean isStatusPending() {
+        return statusPending;
+    }
+
+    public void setStatusPending(boolean statusPending) {
+        this.statusPending = statusPending;
+    }
+}
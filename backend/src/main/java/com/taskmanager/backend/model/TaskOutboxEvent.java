@@ -0,0 +1,86 @@
+package com.taskmanager.backend.model;
+
+import com.taskmanager.backend.event.TaskChangedEvent;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A task lifecycle event waiting to be relayed to downstream consumers. Rows are written in the
+ * same transaction as the change they describe and deleted once a sink has accepted them.
+ */
+@Entity
+@Table(name = "task_outbox")
+public class TaskOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 100)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private TaskChangedEvent.Type eventType;
+
+    @Column(name = "workspace_id", nullable = false, length = 64)
+    private String workspaceId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public TaskOutboxEvent() {}
+
+    public TaskOutboxEvent(TaskChangedEvent.Type eventType, String workspaceId, Long taskId, TaskStatus status,
+                           String payload, Instant createdAt) {
+        this.eventType = eventType;
+        this.workspaceId = workspaceId;
+        this.taskId = taskId;
+        this.status = status;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TaskChangedEvent.Type getEventType() {
+        return eventType;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The task as JSON, or {@code null} for deletes and bulk status changes.
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
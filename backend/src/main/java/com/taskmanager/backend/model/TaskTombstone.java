@@ -0,0 +1,55 @@
+package com.taskmanager.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Marks a deleted task so delta-sync clients learn about the deletion.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_workspace_revision", columnList = "workspace_id, revision")
+})
+public class TaskTombstone {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @JsonIgnore
+    @Column(name = "workspace_id", nullable = false, length = 64)
+    private String workspaceId;
+
+    @Column(nullable = false)
+    private Long revision;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public TaskTombstone() {}
+
+    public TaskTombstone(Long taskId, String workspaceId, Long revision, Instant deletedAt) {
+        this.taskId = taskId;
+        this.workspaceId = workspaceId;
+        this.revision = revision;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskmanager.backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a local file as newline-delimited JSON, one batch per write.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectWriter writer;
+
+    private final Path file;
+
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${taskmanager.outbox.file}") String file) {
+        this.writer = objectMapper.writerFor(TaskOutboxEvent.class);
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public void publish(List<TaskOutboxEvent> events) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (TaskOutboxEvent event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.backend.outbox;
+
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stand-in for a message broker: logs each event at debug level.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<TaskOutboxEvent> events) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        for (TaskOutboxEvent event : events) {
+            log.debug("Task event {} {} for task {} in workspace {}", event.getId(), event.getEventType(),
+                    event.getTaskId(), event.getWorkspaceId());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskmanager.backend.outbox;
+
+import com.taskmanager.backend.model.TaskOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for relayed task events. A batch is removed from the outbox only after
+ * {@link #publish(List)} returns, so delivery is at-least-once; throwing leaves the batch in place
+ * to be retried on the next flush.
+ */
+public interface OutboxSink {
+
+    void publish(List<TaskOutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.backend.outbox;
+
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands events to in-process consumers through a bounded queue. A batch that does not fit is
+ * rejected as a whole, so a slow consumer backs events up in the outbox table instead of in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.sink", havingValue = "queue")
+public class QueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<TaskOutboxEvent> queue;
+
+    public QueueOutboxSink(@Value("${taskmanager.outbox.queue-capacity}") int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<TaskOutboxEvent> events) {
+        if (queue.remainingCapacity() < events.size()) {
+            throw new IllegalStateException("Outbox queue is full, " + events.size() + " events deferred");
+        }
+        queue.addAll(events);
+    }
+
+    public BlockingQueue<TaskOutboxEvent> getQueue() {
+        return queue;
+    }
+}
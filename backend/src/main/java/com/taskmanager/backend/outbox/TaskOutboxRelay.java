@@ -0,0 +1,145 @@
+package com.taskmanager.backend.outbox;
+
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to the configured {@link OutboxSink} in id order, one batch per transaction.
+ * <p>
+ * The relay only queries the table after a change has committed (or after a failed flush), so an
+ * idle application does not poll the database. The backlog and the age of the oldest pending
+ * event are exported as gauges to show when the sink is falling behind.
+ */
+@Component
+public class TaskOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskOutboxRelay.class);
+
+    private final TaskOutboxRepository outboxRepository;
+
+    private final OutboxSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final AtomicBoolean pending = new AtomicBoolean(true);
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    private final Counter publishedCounter;
+
+    private final Counter failureCounter;
+
+    private final Timer flushTimer;
+
+    public TaskOutboxRelay(TaskOutboxRepository outboxRepository,
+                           OutboxSink sink,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${taskmanager.outbox.batch-size}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.publishedCounter = Counter.builder("task.outbox.published")
+                .description("Task events accepted by the outbox sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("task.outbox.failures")
+                .description("Outbox batches the sink rejected")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("task.outbox.flush")
+                .description("Time to hand one outbox batch to the sink")
+                .register(meterRegistry);
+        Gauge.builder("task.outbox.backlog", backlog, AtomicLong::get)
+                .description("Task events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("task.outbox.lag", oldestAgeMillis, age -> age.get() / 1000.0)
+                .description("Age in seconds of the oldest task event waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        pending.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.flush-interval-ms}",
+            initialDelayString = "${taskmanager.outbox.flush-interval-ms}")
+    public void relay() {
+        if (!pending.getAndSet(false)) {
+            return;
+        }
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (Exception ex) {
+            pending.set(true);
+            failureCounter.increment();
+            log.warn("Outbox relay failed, will retry: {}", ex.getMessage());
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    private int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<TaskOutboxEvent> batch = outboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            flushTimer.record(() -> publish(batch));
+            outboxRepository.deleteByIds(batch.stream().map(TaskOutboxEvent::getId).collect(Collectors.toList()));
+            return batch.size();
+        });
+        int count = published != null ? published : 0;
+        publishedCounter.increment(count);
+        return count;
+    }
+
+    private void publish(List<TaskOutboxEvent> batch) {
+        try {
+            sink.publish(batch);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            backlog.set(outboxRepository.count());
+            Instant oldest = outboxRepository.findOldestCreatedAt();
+            oldestAgeMillis.set(oldest != null ? Duration.between(oldest, Instant.now()).toMillis() : 0L);
+        } catch (RuntimeException ex) {
+            log.debug("Could not refresh outbox backlog", ex);
+        }
+    }
+}
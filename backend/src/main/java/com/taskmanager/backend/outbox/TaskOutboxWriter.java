@@ -0,0 +1,47 @@
+package com.taskmanager.backend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Records every task change in the outbox. Runs synchronously inside the publishing transaction,
+ * so the event is stored if and only if the change commits.
+ */
+@Component
+public class TaskOutboxWriter {
+
+    private final TaskOutboxRepository outboxRepository;
+
+    private final ObjectWriter taskWriter;
+
+    public TaskOutboxWriter(TaskOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.taskWriter = objectMapper.writerFor(Task.class);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        outboxRepository.save(new TaskOutboxEvent(
+                event.getType(), event.getWorkspaceId(), event.getTaskId(), event.getStatus(), payload(event.getTask()), Instant.now()));
+    }
+
+    private String payload(Task task) {
+        if (task == null) {
+            return null;
+        }
+        try {
+            return taskWriter.writeValueAsString(task);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize task " + task.getId(), ex);
+        }
+    }
+}
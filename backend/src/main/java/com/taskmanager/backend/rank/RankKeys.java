@@ -0,0 +1,151 @@
+package com.taskmanager.backend.rank;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fractional ranks: strings of base-62 digits that sort by plain (binary) string comparison, so
+ * there is always room for a new key between any two. Digits are in ASCII order
+ * ({@code 0-9A-Za-z}) and a key never ends in the zero digit, which guarantees that a key
+ * exists between any two distinct keys.
+ */
+public final class RankKeys {
+
+    static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private static final int BASE = DIGITS.length();
+
+    /** Key of the first task in an empty column: the middle of the key space. */
+    public static final String INITIAL = String.valueOf(DIGITS.charAt(BASE / 2));
+
+    private RankKeys() {
+    }
+
+    /**
+     * Returns a key strictly between {@code before} and {@code after}; {@code null} stands for
+     * the start or end of the column.
+     *
+     * @throws IllegalArgumentException if {@code before} does not sort before {@code after}
+     */
+    public static String between(String before, String after) {
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " does not sort before " + after);
+        }
+        if (before == null && after == null) {
+            return INITIAL;
+        }
+        if (after == null) {
+            return after(before);
+        }
+        return midpoint(before == null ? "" : before, after);
+    }
+
+    /**
+     * Keys for {@code count} tasks appended in order below {@code last} ({@code null} for an
+     * empty column): the key that would follow {@code last}, extended by evenly spread suffixes,
+     * so a bulk append stays as short as {@link #spread} instead of growing with every task.
+     */
+    public static List<String> after(String last, int count) {
+        String prefix = between(last, null);
+        if (count == 1) {
+            return Collections.singletonList(prefix);
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (String suffix : spread(count)) {
+            keys.add(prefix + suffix);
+        }
+        return keys;
+    }
+
+    /**
+     * Keys for {@code count} tasks, evenly spread over keys of the same, shortest sufficient
+     * length, leaving equal gaps for later moves.
+     */
+    public static List<String> spread(int count) {
+        int length = 1;
+        long capacity = BASE;
+        while (capacity <= count * 4L) {
+            length++;
+            capacity *= BASE;
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(stripZeros(encode(capacity * i / (count + 1), length)));
+        }
+        return keys;
+    }
+
+    /**
+     * Appending is the common case, so instead of halving the remaining space it advances the
+     * first digit that can still grow. Keys then stay short across many appends.
+     */
+    private static String after(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            int digit = digit(key.charAt(i));
+            if (digit < BASE - 1) {
+                return key.substring(0, i) + DIGITS.charAt(digit + 1);
+            }
+        }
+        return key + INITIAL;
+    }
+
+    /**
+     * Midpoint of {@code low} (possibly empty) and {@code high}, where missing trailing digits
+     * of {@code low} count as zero.
+     */
+    private static String midpoint(String low, String high) {
+        int common = 0;
+        while (common < high.length() && digitAt(low, common) == digit(high.charAt(common))) {
+            common++;
+        }
+        if (common > 0) {
+            return high.substring(0, common) + midpoint(tail(low, common), high.substring(common));
+        }
+        int lowDigit = digitAt(low, 0);
+        int highDigit = digit(high.charAt(0));
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit) / 2));
+        }
+        if (high.length() > 1) {
+            // the first digit of high alone already sorts between the two
+            return high.substring(0, 1);
+        }
+        // adjacent digits: keep low's digit and go past the rest of low
+        String rest = tail(low, 1);
+        return DIGITS.charAt(lowDigit) + (rest.isEmpty() ? INITIAL : after(rest));
+    }
+
+    private static String tail(String key, int from) {
+        return from >= key.length() ? "" : key.substring(from);
+    }
+
+    private static int digitAt(String key, int index) {
+        return index < key.length() ? digit(key.charAt(index)) : 0;
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank digit '" + c + "'");
+        }
+        return digit;
+    }
+
+    private static String encode(long value, int length) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    private static String stripZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == DIGITS.charAt(0)) {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+}
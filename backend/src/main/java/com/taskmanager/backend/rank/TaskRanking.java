@@ -0,0 +1,219 @@
+package com.taskmanager.backend.rank;
+
+import com.taskmanager.backend.config.CacheConfig;
+import com.taskmanager.backend.dto.TaskStatusCount;
+import com.taskmanager.backend.exception.TaskMoveConflictException;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns ranks within a status column and keeps them short.
+ * <p>
+ * A move computes one key between its neighbours, so it writes a single row. Keys grow when
+ * tasks are repeatedly dropped into the same gap, so a background job rewrites every column
+ * holding a key longer than {@code taskmanager.rank.max-length} with evenly spaced short keys.
+ * Rebalancing keeps the order, bumps the rows' revision so delta sync clients pick up the new
+ * keys, and publishes no change events.
+ * <p>
+ * Two writers filling the same gap at once leave tasks sharing a key; columns are ordered by
+ * {@code (rank, id)}, so ties still have a stable order. A move between tied neighbours takes
+ * their key too and is never allowed to rewrite the column inside the request; if the ids do not
+ * place it where asked, the column is queued for the background job instead.
+ */
+@Component
+public class TaskRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRanking.class);
+
+    private static final String UPDATE_RANK_SQL = "UPDATE tasks SET sort_rank = ?, version = version + 1, "
+            + "revision = ?, updated_at = ? WHERE id = ?";
+
+    private static final String APPEND_SQL = "UPDATE tasks SET status = ?, sort_rank = ?, version = version + 1, "
+            + "revision = ?, updated_at = ? WHERE id = ? AND workspace_id = ?";
+
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManager entityManager;
+
+    private final TaskRevisionTracker revisionTracker;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxLength;
+
+    /** Columns with tied keys that a move could not be placed between exactly. */
+    private final Set<Map.Entry<String, TaskStatus>> tiedColumns = ConcurrentHashMap.newKeySet();
+
+    public TaskRanking(TaskRepository taskRepository, JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                       TaskRevisionTracker revisionTracker, CacheManager cacheManager,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${taskmanager.rank.max-length}") int maxLength) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.revisionTracker = revisionTracker;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Key placing a task at the bottom of the column.
+     */
+    public String last(String workspaceId, TaskStatus status) {
+        return RankKeys.between(taskRepository.findLastRank(workspaceId, status), null);
+    }
+
+    /**
+     * Moves the tasks to the bottom of the column, in the given order, writing their status and
+     * consecutive keys in batches. Like the repository's bulk updates, the persistence context is
+     * flushed before and cleared after. Must run inside a transaction; the caller publishes the
+     * events and evicts the cached tasks.
+     *
+     * @return the number of tasks written
+     */
+    public int append(String workspaceId, TaskStatus status, List<Long> ids, long revision, Instant updatedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        List<String> keys = RankKeys.after(taskRepository.findLastRank(workspaceId, status), ids.size());
+        Timestamp now = Timestamp.from(updatedAt);
+        int written = 0;
+        for (int from = 0; from < ids.size(); from += UPDATE_BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(UPDATE_BATCH_SIZE);
+            for (int i = from; i < Math.min(from + UPDATE_BATCH_SIZE, ids.size()); i++) {
+                batch.add(new Object[]{status.name(), keys.get(i), revision, now, ids.get(i), workspaceId});
+            }
+            for (int count : jdbcTemplate.batchUpdate(APPEND_SQL, batch)) {
+                written += count;
+            }
+        }
+        entityManager.clear();
+        return written;
+    }
+
+    /**
+     * Key placing {@code taskId} between two tasks of the column; see
+     * {@link com.taskmanager.backend.dto.MoveTaskRequest} for the meaning of the neighbours.
+     * Must run inside the transaction that writes the key.
+     *
+     * @throws TaskMoveConflictException if a neighbour is not in the column or the neighbours
+     *                                   are out of order
+     */
+    public String between(String workspaceId, TaskStatus status, Long taskId, Long afterId, Long beforeId) {
+        if (Objects.equals(taskId, afterId) || Objects.equals(taskId, beforeId)
+                || (afterId != null && afterId.equals(beforeId))) {
+            throw new TaskMoveConflictException("A task cannot be moved next to itself");
+        }
+        if (afterId == null && beforeId == null) {
+            return last(workspaceId, status);
+        }
+        String low = neighbourRank(workspaceId, status, afterId);
+        String high = neighbourRank(workspaceId, status, beforeId);
+        if (low != null && low.equals(high)) {
+            return tiedRank(workspaceId, status, taskId, afterId, beforeId, low);
+        }
+        if (low != null && high != null && low.compareTo(high) > 0) {
+            throw new TaskMoveConflictException("Task " + afterId + " is no longer above task " + beforeId);
+        }
+        return RankKeys.between(low, high);
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.rank.rebalance-interval-ms}",
+            initialDelayString = "${taskmanager.rank.rebalance-interval-ms}")
+    public void rebalanceColumns() {
+        Iterator<Map.Entry<String, TaskStatus>> tied = tiedColumns.iterator();
+        while (tied.hasNext()) {
+            Map.Entry<String, TaskStatus> column = tied.next();
+            tied.remove();
+            int rewritten = transactionTemplate.execute(status -> rebalance(column.getKey(), column.getValue()));
+            log.info("Rebalanced {} ranks in {}/{} (tied keys)", rewritten, column.getKey(), column.getValue());
+        }
+        for (TaskStatusCount column : taskRepository.findColumnsWithRanksLongerThan(maxLength)) {
+            int rewritten = transactionTemplate.execute(status ->
+                    rebalance(column.getWorkspaceId(), column.getStatus()));
+            log.info("Rebalanced {} ranks in {}/{} ({} longer than {})", rewritten,
+                    column.getWorkspaceId(), column.getStatus(), column.getCount(), maxLength);
+        }
+    }
+
+    /**
+     * Rewrites the ranks of a column with evenly spaced keys in the current order. Must run
+     * inside a transaction.
+     *
+     * @return the number of tasks rewritten
+     */
+    public int rebalance(String workspaceId, TaskStatus status) {
+        List<Long> ids = taskRepository.findIdsInRankOrder(workspaceId, status);
+        List<String> keys = RankKeys.spread(ids.size());
+        long revision = revisionTracker.next();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int from = 0; from < ids.size(); from += UPDATE_BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(UPDATE_BATCH_SIZE);
+            for (int i = from; i < Math.min(from + UPDATE_BATCH_SIZE, ids.size()); i++) {
+                batch.add(new Object[]{keys.get(i), revision, now, ids.get(i)});
+            }
+            jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, batch);
+        }
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (tasks != null) {
+            tasks.clear();
+        }
+        return ids.size();
+    }
+
+    /**
+     * The neighbours share {@code key}, so they are ordered by id, and the task takes the same
+     * key. That places it exactly between them when its id falls between theirs; otherwise it
+     * lands next to them and the column is queued for rebalancing.
+     */
+    private String tiedRank(String workspaceId, TaskStatus status, Long taskId, Long afterId, Long beforeId,
+                            String key) {
+        if (afterId > beforeId) {
+            throw new TaskMoveConflictException("Task " + afterId + " is no longer above task " + beforeId);
+        }
+        if (taskId < afterId || taskId > beforeId) {
+            tiedColumns.add(new AbstractMap.SimpleImmutableEntry<>(workspaceId, status));
+        }
+        return key;
+    }
+
+    private String neighbourRank(String workspaceId, TaskStatus status, Long id) {
+        if (id == null) {
+            return null;
+        }
+        return taskRepository.findRankInColumn(id, workspaceId, status)
+                .orElseThrow(() -> new TaskMoveConflictException("Task " + id + " is not in column " + status));
+    }
+}
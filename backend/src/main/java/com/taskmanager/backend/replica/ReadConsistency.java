@@ -0,0 +1,85 @@
+package com.taskmanager.backend.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request state of read routing. Read-only transactions of a request may be served by a
+ * replica that has applied at least the revision named by the request's
+ * {@code X-Consistency-Token}; the token of a write is returned with its response, so a client
+ * that passes it back reads its own writes. Work outside a request, and work wrapped in
+ * {@link #onPrimary}, always uses the primary.
+ */
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Allows replica reads for the current request, from replicas at {@code minRevision} or later.
+     */
+    public static void bind(long minRevision) {
+        State state = new State();
+        state.minRevision = minRevision;
+        CURRENT.set(state);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code action} against the primary. Routing is decided when a transaction first
+     * touches the database, so this must wrap that first statement.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        State state = CURRENT.get();
+        if (state == null || state.primaryOnly) {
+            return action.get();
+        }
+        state.primaryOnly = true;
+        try {
+            return action.get();
+        } finally {
+            state.primaryOnly = false;
+        }
+    }
+
+    /**
+     * Whether the last read routed on this thread went to a replica. Such results may be stale
+     * and are kept out of the task cache.
+     */
+    public static boolean isReplicaRead() {
+        State state = CURRENT.get();
+        return state != null && state.replicaRead;
+    }
+
+    static boolean replicaAllowed() {
+        State state = CURRENT.get();
+        return state != null && !state.primaryOnly;
+    }
+
+    static long minRevision() {
+        State state = CURRENT.get();
+        return state == null ? 0L : state.minRevision;
+    }
+
+    static void routed(boolean replica) {
+        State state = CURRENT.get();
+        if (state != null) {
+            state.replicaRead = replica;
+        }
+    }
+
+    private static final class State {
+
+        private long minRevision;
+
+        private boolean primaryOnly;
+
+        private boolean replicaRead;
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.backend.replica;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the {@code X-Consistency-Token} request header to {@link ReadConsistency} for the
+ * duration of the request. Requests without a token, or with one that is not a number, may read
+ * from any replica within the configured lag.
+ */
+public class ReadConsistencyInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadConsistency.bind(parseToken(request.getHeader(ReadConsistency.HEADER)));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadConsistency.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadConsistency.clear();
+    }
+
+    private static long parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException ex) {
+            return 0L;
+        }
+    }
+}
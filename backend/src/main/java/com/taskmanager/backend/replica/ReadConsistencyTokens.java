@@ -0,0 +1,40 @@
+package com.taskmanager.backend.replica;
+
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Answers a request that changed tasks with an {@code X-Consistency-Token}.
+ * <p>
+ * The token is the revision following the last one handed out when the write committed. Every
+ * revision from there on is assigned after that commit, so a replica that has applied one of them
+ * has applied the write as well. Until some later change reaches a replica, reads carrying the
+ * token go to the primary. Status updates taken by the write-behind buffer commit later, on the
+ * flush thread, and get no token.
+ */
+public class ReadConsistencyTokens {
+
+    private final TaskRevisionTracker revisionTracker;
+
+    public ReadConsistencyTokens(TaskRevisionTracker revisionTracker) {
+        this.revisionTracker = revisionTracker;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.setHeader(ReadConsistency.HEADER, String.valueOf(revisionTracker.current() + 1));
+        }
+    }
+}
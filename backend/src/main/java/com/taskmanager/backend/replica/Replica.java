@@ -0,0 +1,63 @@
+package com.taskmanager.backend.replica;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica and what the last probe found out about it.
+ */
+public class Replica {
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private volatile long appliedRevision = -1;
+
+    private volatile long lag;
+
+    private volatile boolean available;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * The highest task revision the replica has applied, or -1 before the first successful probe.
+     */
+    public long getAppliedRevision() {
+        return appliedRevision;
+    }
+
+    /**
+     * Revisions the replica was behind the primary at the last probe.
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * Reachable and within the configured lag at the last probe.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    void probed(long appliedRevision, long primaryRevision, boolean withinLag) {
+        this.appliedRevision = appliedRevision;
+        this.lag = Math.max(0, primaryRevision - appliedRevision);
+        this.available = withinLag;
+    }
+
+    void unreachable() {
+        this.available = false;
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskmanager.backend.replica;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Probes how far each replica has got, measured in task revisions.
+ * <p>
+ * A replica's position is the highest revision among its tasks and tombstones, the same figure
+ * the revision counter is seeded from. The primary's position is sampled the same way at every
+ * probe, so only committed revisions count: one handed out to a write that rolled back never
+ * reaches a replica. A replica stays available while it has reached the position the primary had
+ * {@code max-lag} ago, so reads without a consistency token are at most about that stale. A
+ * replica that cannot be queried is unavailable until a probe succeeds again; while the primary
+ * cannot be queried, probes change nothing.
+ * <p>
+ * Also publishes the replica metrics; it is bound to the registry rather than handed one, since
+ * the registry's own data source metrics depend on the routing data source.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String POSITION_SQL = "select greatest("
+            + "(select coalesce(max(revision), 0) from tasks), "
+            + "(select coalesce(max(revision), 0) from task_tombstones))";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    private final List<Replica> replicas;
+
+    private final JdbcTemplate primary;
+
+    private final long maxLagMillis;
+
+    /** (time, primary position) pairs, oldest first; the first is the newest one older than max-lag. */
+    private final Deque<long[]> samples = new ArrayDeque<>();
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, DataSource primaryDataSource,
+                             Duration maxLag) {
+        this.routingDataSource = routingDataSource;
+        this.replicas = routingDataSource.getReplicas();
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        readCounter(meterRegistry, ReplicaRoutingDataSource.PRIMARY);
+        for (Replica replica : replicas) {
+            readCounter(meterRegistry, replica.getName());
+            Gauge.builder("task.replica.lag", replica, Replica::getLag)
+                    .description("Task revisions the replica was behind the primary at the last probe")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("task.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("Whether the replica serves reads")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.replicas.probe-interval-ms}")
+    public synchronized void probe() {
+        long now = System.currentTimeMillis();
+        long primaryPosition;
+        try {
+            primaryPosition = position(primary);
+        } catch (DataAccessException ex) {
+            log.warn("Could not read the primary's position: {}", ex.getMessage());
+            return;
+        }
+        samples.addLast(new long[]{now, primaryPosition});
+        while (samples.size() > 1 && secondSampleTime() <= now - maxLagMillis) {
+            samples.removeFirst();
+        }
+        // before max-lag has passed since startup this is stricter than needed
+        long required = samples.getFirst()[1];
+        for (Replica replica : replicas) {
+            try {
+                long applied = position(new JdbcTemplate(replica.getDataSource()));
+                boolean wasAvailable = replica.isAvailable();
+                replica.probed(applied, primaryPosition, applied >= required);
+                if (wasAvailable != replica.isAvailable()) {
+                    log.info("Replica {} {} (at revision {}, primary at {})", replica.getName(),
+                            replica.isAvailable() ? "serves reads again" : "is lagging", applied, primaryPosition);
+                }
+            } catch (DataAccessException ex) {
+                if (replica.isAvailable()) {
+                    log.warn("Replica {} is unreachable: {}", replica.getName(), ex.getMessage());
+                }
+                replica.unreachable();
+            }
+        }
+    }
+
+    private static long position(JdbcTemplate database) {
+        Long position = database.queryForObject(POSITION_SQL, Long.class);
+        return position != null ? position : 0L;
+    }
+
+    private void readCounter(MeterRegistry meterRegistry, String target) {
+        FunctionCounter.builder("task.replica.reads", routingDataSource, routing -> routing.getReadCount(target))
+                .description("Read-only request transactions by the database that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private long secondSampleTime() {
+        Iterator<long[]> iterator = samples.iterator();
+        iterator.next();
+        return iterator.next()[0];
+    }
+}
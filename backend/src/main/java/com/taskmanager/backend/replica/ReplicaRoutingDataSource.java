@@ -0,0 +1,93 @@
+package com.taskmanager.backend.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions of a request to a replica and everything else to the primary.
+ * <p>
+ * A replica qualifies when its last probe found it within the lag limit and at or past the
+ * request's consistency token; qualifying replicas take turns. Without one, the read goes to
+ * the primary. The lookup happens when a connection is taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers
+ * take the connection before they mark the transaction read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Map<String, LongAdder> reads = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.replicas = new ArrayList<>(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        reads.put(PRIMARY, new LongAdder());
+        for (Replica replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            reads.put(replica.getName(), new LongAdder());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Read-only request transactions served by {@code target}, a replica name or {@code primary}.
+     */
+    public long getReadCount(String target) {
+        LongAdder count = reads.get(target);
+        return count != null ? count.sum() : 0L;
+    }
+
+    /**
+     * Closes the replicas' pools; the primary is managed on its own.
+     */
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable) {
+                ((AutoCloseable) replica.getDataSource()).close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !ReadConsistency.replicaAllowed()) {
+            ReadConsistency.routed(false);
+            return PRIMARY;
+        }
+        Replica replica = select(ReadConsistency.minRevision());
+        ReadConsistency.routed(replica != null);
+        String target = replica != null ? replica.getName() : PRIMARY;
+        reads.get(target).increment();
+        return target;
+    }
+
+    private Replica select(long minRevision) {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable() && replica.getAppliedRevision() >= minRevision) {
+                return replica;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.model.ArchivedTask;
+import com.taskmanager.backend.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mirrors the id-ordered reads of {@link TaskRepository} for archived tasks, so list reads can
+ * merge both tables by id.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    Optional<ArchivedTask> findByIdAndWorkspaceId(Long id, String workspaceId);
+
+    List<ArchivedTask> findByWorkspaceIdOrderByIdAsc(String workspaceId);
+
+    List<ArchivedTask> findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(String workspaceId, Long id, Pageable pageable);
+
+    List<ArchivedTask> findByWorkspaceIdAndStatusAndIdGreaterThanOrderByIdAsc(String workspaceId, TaskStatus status,
+                                                                              Long id, Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+
+    List<TaskOutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Query("select min(e.createdAt) from TaskOutboxEvent e")
+    Instant findOldestCreatedAt();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskOutboxEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,9 +1,198 @@
 package com.taskmanager.backend.repository;
 
+import com.taskmanager.backend.dto.TaskStatusCount;
+import com.taskmanager.backend.dto.TaskStatusRef;
+import com.taskmanager.backend.dto.TaskSummary;
 import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * Task queries are scoped to a workspace and served by indexes that lead with
+ * {@code workspace_id}, so their cost depends only on that workspace's data.
+ */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
-} 
\ No newline at end of file
+
+    List<Task> findByWorkspaceIdOrderByIdAsc(String workspaceId);
+
+    Optional<Task> findByIdAndWorkspaceId(Long id, String workspaceId);
+
+    boolean existsByIdAndWorkspaceId(Long id, String workspaceId);
+
+    List<Task> findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(String workspaceId, Long id, Pageable pageable);
+
+    List<Task> findByWorkspaceIdAndStatusAndIdGreaterThanOrderByIdAsc(String workspaceId, TaskStatus status, Long id,
+                                                                      Pageable pageable);
+
+    /**
+     * A column in board order, resuming after the {@code (rank, id)} position of the previous
+     * page's last row.
+     */
+    @Query("select new com.taskmanager.backend.dto.TaskSummary(t.id, t.title, t.status, t.rank, t.version) "
+            + "from Task t where t.workspaceId = :workspaceId and t.status = :status "
+            + "and (t.rank > :afterRank or (t.rank = :afterRank and t.id > :afterId)) order by t.rank, t.id")
+    List<TaskSummary> findSummariesByStatus(@Param("workspaceId") String workspaceId, @Param("status") TaskStatus status,
+                                            @Param("afterRank") String afterRank, @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    long countByWorkspaceIdAndStatus(String workspaceId, TaskStatus status);
+
+    /**
+     * Task counts of every workspace and status, read from the {@code (workspace_id, status, id)}
+     * index. Used to reconcile the in-memory statistics.
+     */
+    @Query("select new com.taskmanager.backend.dto.TaskStatusCount(t.workspaceId, t.status, count(t)) "
+            + "from Task t group by t.workspaceId, t.status")
+    List<TaskStatusCount> countByWorkspaceAndStatus();
+
+    /**
+     * The current status, locked until the transaction ends so that concurrent writers see each
+     * other's change as the previous status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.status from Task t where t.id = :id and t.workspaceId = :workspaceId")
+    Optional<TaskStatus> findStatusById(@Param("id") Long id, @Param("workspaceId") String workspaceId);
+
+    @Query("select t.rank from Task t where t.id = :id and t.workspaceId = :workspaceId and t.status = :status")
+    Optional<String> findRankInColumn(@Param("id") Long id, @Param("workspaceId") String workspaceId,
+                                      @Param("status") TaskStatus status);
+
+    @Query("select max(t.rank) from Task t where t.workspaceId = :workspaceId and t.status = :status")
+    String findLastRank(@Param("workspaceId") String workspaceId, @Param("status") TaskStatus status);
+
+    @Query("select t.id from Task t where t.workspaceId = :workspaceId and t.status = :status order by t.rank, t.id")
+    List<Long> findIdsInRankOrder(@Param("workspaceId") String workspaceId, @Param("status") TaskStatus status);
+
+    /**
+     * Columns holding ranks longer than {@code maxLength}, with the number of such ranks.
+     */
+    @Query("select new com.taskmanager.backend.dto.TaskStatusCount(t.workspaceId, t.status, count(t)) "
+            + "from Task t where length(t.rank) > :maxLength group by t.workspaceId, t.status")
+    List<TaskStatusCount> findColumnsWithRanksLongerThan(@Param("maxLength") int maxLength);
+
+    /**
+     * Streams every task in id order through a server-side cursor. Must be consumed inside a
+     * transaction and closed afterwards; rows are loaded read-only so no dirty-checking
+     * snapshots are kept.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
+    /**
+     * Same as {@link #streamAll()}, limited to one workspace.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select t from Task t where t.workspaceId = :workspaceId order by t.id")
+    Stream<Task> streamByWorkspaceId(@Param("workspaceId") String workspaceId);
+
+    @Query("select t.revision from Task t where t.workspaceId = :workspaceId "
+            + "and t.revision > :since and t.revision <= :upTo order by t.revision")
+    List<Long> findRevisionsBetween(@Param("workspaceId") String workspaceId, @Param("since") long since,
+                                    @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("select t from Task t where t.workspaceId = :workspaceId "
+            + "and t.revision > :since and t.revision <= :upTo order by t.revision, t.id")
+    List<Task> findChangedBetween(@Param("workspaceId") String workspaceId, @Param("since") long since,
+                                  @Param("upTo") long upTo);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.revision = :revision, "
+            + "t.updatedAt = :updatedAt where t.id = :id and t.workspaceId = :workspaceId")
+    int updateStatusById(@Param("id") Long id, @Param("workspaceId") String workspaceId, @Param("status") TaskStatus status,
+                         @Param("revision") long revision, @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.revision = :revision, "
+            + "t.updatedAt = :updatedAt where t.id = :id and t.workspaceId = :workspaceId and t.version = :version")
+    int updateStatusByIdAndVersion(@Param("id") Long id, @Param("workspaceId") String workspaceId,
+                                   @Param("status") TaskStatus status, @Param("version") Long version,
+                                   @Param("revision") long revision, @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.rank = :rank, t.version = t.version + 1, t.revision = :revision, "
+            + "t.updatedAt = :updatedAt where t.id = :id and t.workspaceId = :workspaceId")
+    int moveById(@Param("id") Long id, @Param("workspaceId") String workspaceId, @Param("status") TaskStatus status,
+                 @Param("rank") String rank, @Param("revision") long revision, @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.rank = :rank, t.version = t.version + 1, t.revision = :revision, "
+            + "t.updatedAt = :updatedAt where t.id = :id and t.workspaceId = :workspaceId and t.version = :version")
+    int moveByIdAndVersion(@Param("id") Long id, @Param("workspaceId") String workspaceId,
+                           @Param("status") TaskStatus status, @Param("rank") String rank,
+                           @Param("version") Long version, @Param("revision") long revision,
+                           @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id = :id and t.workspaceId = :workspaceId")
+    int deleteTaskById(@Param("id") Long id, @Param("workspaceId") String workspaceId);
+
+    /**
+     * The current statuses, locked like {@link #findStatusById}. Rows are locked in id order so
+     * that overlapping bulk writes cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.taskmanager.backend.dto.TaskStatusRef(t.id, t.status) "
+            + "from Task t where t.workspaceId = :workspaceId and t.id in :ids order by t.id")
+    List<TaskStatusRef> findStatusesByIds(@Param("workspaceId") String workspaceId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.revision = :revision, "
+            + "t.updatedAt = :updatedAt where t.workspaceId = :workspaceId and t.id in :ids")
+    int updateStatusByIds(@Param("workspaceId") String workspaceId, @Param("ids") Collection<Long> ids,
+                          @Param("status") TaskStatus status, @Param("revision") long revision,
+                          @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.workspaceId = :workspaceId and t.id in :ids")
+    int deleteByIds(@Param("workspaceId") String workspaceId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Archiving candidates across all workspaces, oldest first. Not locked; see
+     * {@link #findByIdsUnchangedSince}.
+     */
+    List<Task> findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(TaskStatus status, Instant cutoff, Pageable pageable);
+
+    /**
+     * The given tasks that still have {@code status} and were not touched since {@code cutoff},
+     * locked in id order until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids and t.status = :status and t.updatedAt < :cutoff order by t.id")
+    List<Task> findByIdsUnchangedSince(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status,
+                                       @Param("cutoff") Instant cutoff);
+
+    /**
+     * Deletes the tasks that still have {@code status} and were not touched since {@code cutoff}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids and t.status = :status and t.updatedAt < :cutoff")
+    int deleteByIdsUnchangedSince(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status,
+                                  @Param("cutoff") Instant cutoff);
+}
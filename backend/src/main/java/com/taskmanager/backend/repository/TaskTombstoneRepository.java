@@ -0,0 +1,24 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Query("select t.revision from TaskTombstone t where t.workspaceId = :workspaceId "
+            + "and t.revision > :since and t.revision <= :upTo order by t.revision")
+    List<Long> findRevisionsBetween(@Param("workspaceId") String workspaceId, @Param("since") long since,
+                                    @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("select t from TaskTombstone t where t.workspaceId = :workspaceId "
+            + "and t.revision > :since and t.revision <= :upTo order by t.revision, t.taskId")
+    List<TaskTombstone> findBetween(@Param("workspaceId") String workspaceId, @Param("since") long since,
+                                    @Param("upTo") long upTo);
+}
@@ -0,0 +1,348 @@
+package com.taskmanager.backend.search;
+
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions, ranked with BM25.
+ * <p>
+ * The index is rebuilt from the database at startup and then kept in sync from committed
+ * {@link TaskChangedEvent}s. Only term frequencies are held, not the text itself. The last query
+ * term also matches as a prefix so results can be refreshed while the user types.
+ * <p>
+ * Each workspace has its own shard with its own postings and statistics, so a search only
+ * touches the searching workspace's documents and ranks them against that workspace alone.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    /** A title occurrence counts as this many description occurrences. */
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskSearchIndex(TaskRepository taskRepository, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamAll()) {
+                tasks.forEach(task -> {
+                    shard(task.getWorkspaceId()).addIfAbsent(task);
+                    entityManager.detach(task);
+                });
+            }
+        });
+        log.info("Indexed {} tasks in {} workspaces for search in {} ms",
+                size(), shards.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                index(event.getTask());
+                break;
+            case DELETED:
+            case ARCHIVED:
+                remove(event.getWorkspaceId(), event.getTaskId());
+                break;
+            default:
+                // status changes do not affect indexed text
+                break;
+        }
+    }
+
+    public void index(Task task) {
+        shard(task.getWorkspaceId()).index(task);
+    }
+
+    public void remove(String workspaceId, Long id) {
+        Shard shard = shards.get(workspaceId);
+        if (shard != null) {
+            shard.remove(id);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards.values()) {
+            size += shard.documents.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the workspace's hits ranked by descending score, skipping {@code offset} and
+     * returning at most {@code limit}. Only the top {@code offset + limit} candidates are kept
+     * while ranking.
+     */
+    public SearchResult search(String workspaceId, String query, int offset, int limit) {
+        Shard shard = shards.get(workspaceId);
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        if (shard == null || tokens.isEmpty() || limit < 1) {
+            return new SearchResult(Collections.<Hit>emptyList(), 0);
+        }
+        return shard.search(tokens, offset, limit);
+    }
+
+    private Shard shard(String workspaceId) {
+        return shards.computeIfAbsent(workspaceId, key -> new Shard());
+    }
+
+    private static Map<String, Integer> termFrequencies(Task task) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenizeAll(task.getTitle())) {
+            terms.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenizeAll(task.getDescription())) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        return terms;
+    }
+
+    private static Set<String> tokenize(String text) {
+        return new LinkedHashSet<>(tokenizeAll(text));
+    }
+
+    private static List<String> tokenizeAll(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The postings, term dictionary and length statistics of one workspace.
+     */
+    private static final class Shard {
+
+        private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+
+        private final ConcurrentSkipListSet<String> dictionary = new ConcurrentSkipListSet<>();
+
+        private final Map<Long, IndexedDocument> documents = new ConcurrentHashMap<>();
+
+        private final AtomicLong totalLength = new AtomicLong();
+
+        private void addIfAbsent(Task task) {
+            documents.computeIfAbsent(task.getId(), id -> link(id, termFrequencies(task)));
+        }
+
+        private void index(Task task) {
+            Map<String, Integer> terms = termFrequencies(task);
+            documents.compute(task.getId(), (id, previous) -> {
+                if (previous != null) {
+                    unlink(id, previous);
+                }
+                return link(id, terms);
+            });
+        }
+
+        private void remove(Long id) {
+            documents.computeIfPresent(id, (key, previous) -> {
+                unlink(key, previous);
+                return null;
+            });
+        }
+
+        private SearchResult search(List<String> tokens, int offset, int limit) {
+            int documentCount = Math.max(1, documents.size());
+            double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                Collection<String> terms = i == tokens.size() - 1 ? expandPrefix(token) : Collections.singleton(token);
+                for (String term : terms) {
+                    Map<Long, Integer> matches = postings.get(term);
+                    if (matches == null) {
+                        continue;
+                    }
+                    int df = matches.size();
+                    double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                    for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                        IndexedDocument document = documents.get(match.getKey());
+                        if (document == null) {
+                            continue;
+                        }
+                        int tf = match.getValue();
+                        double norm = K1 * (1 - B + B * document.length / averageLength);
+                        scores.merge(match.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                    }
+                }
+            }
+
+            if (offset >= scores.size()) {
+                return new SearchResult(Collections.<Hit>emptyList(), scores.size());
+            }
+            // offset + limit may overflow an int; never more than every match is wanted anyway
+            int wanted = (int) Math.min((long) offset + limit, scores.size());
+            Comparator<Hit> byScore = Comparator.comparingDouble(Hit::getScore).thenComparing(Hit::getId, Comparator.reverseOrder());
+            PriorityQueue<Hit> top = new PriorityQueue<>(wanted, byScore);
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                Hit hit = new Hit(score.getKey(), score.getValue());
+                if (top.size() < wanted) {
+                    top.add(hit);
+                } else if (byScore.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(byScore.reversed());
+            List<Hit> page = ranked.subList(offset, ranked.size());
+            return new SearchResult(page, scores.size());
+        }
+
+        private Collection<String> expandPrefix(String prefix) {
+            Set<String> terms = new LinkedHashSet<>();
+            terms.add(prefix);
+            for (String term : dictionary.tailSet(prefix, false)) {
+                if (!term.startsWith(prefix) || terms.size() >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                terms.add(term);
+            }
+            return terms;
+        }
+
+        private IndexedDocument link(Long id, Map<String, Integer> terms) {
+            int length = 0;
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.compute(term.getKey(), (key, matches) -> {
+                    Map<Long, Integer> updated = matches != null ? matches : new ConcurrentHashMap<>();
+                    updated.put(id, term.getValue());
+                    return updated;
+                });
+                dictionary.add(term.getKey());
+                length += term.getValue();
+            }
+            totalLength.addAndGet(length);
+            return new IndexedDocument(terms, length);
+        }
+
+        private void unlink(Long id, IndexedDocument document) {
+            for (String term : document.terms.keySet()) {
+                postings.computeIfPresent(term, (key, matches) -> {
+                    matches.remove(id);
+                    if (matches.isEmpty()) {
+                        dictionary.remove(key);
+                        return null;
+                    }
+                    return matches;
+                });
+            }
+            totalLength.addAndGet(-document.length);
+        }
+    }
+
+    private static final class IndexedDocument {
+
+        private final Map<String, Integer> terms;
+
+        private final int length;
+
+        private IndexedDocument(Map<String, Integer> terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    public static final class Hit {
+
+        private final Long id;
+
+        private final double score;
+
+        public Hit(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    public static final class SearchResult {
+
+        private final List<Hit> hits;
+
+        private final int total;
+
+        public SearchResult(List<Hit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
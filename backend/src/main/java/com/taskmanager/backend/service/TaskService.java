@@ -1,23 +1,61 @@
 package com.taskmanager.backend.service;
 
 import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.MoveTaskRequest;
+import com.taskmanager.backend.dto.TaskChangesResponse;
+import com.taskmanager.backend.dto.TaskStatsResponse;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskSearchResponse;
+import com.taskmanager.backend.dto.TaskSummary;
 import com.taskmanager.backend.dto.UpdateTaskRequest;
 import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
 import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
     
     Task createTask(CreateTaskRequest request);
     
+    List<Task> createTasks(List<CreateTaskRequest> requests);
+    
     List<Task> getAllTasks();
     
+    List<Task> getAllTasks(boolean includeArchived);
+    
+    TaskPage<Task> getTasks(TaskStatus status, Integer limit, String cursor);
+    
+    TaskPage<Task> getTasks(TaskStatus status, Integer limit, String cursor, boolean includeArchived);
+    
+    TaskPage<TaskSummary> getTaskSummaries(TaskStatus status, Integer limit, String cursor);
+    
+    long countTasksByStatus(TaskStatus status);
+    
     Task getTaskById(Long id);
     
+    void exportTasks(Consumer<Task> consumer);
+    
+    TaskSearchResponse searchTasks(String query, Integer page, Integer size);
+    
+    TaskChangesResponse getChanges(Long since, Integer limit);
+
+    TaskStatsResponse getStats();
+    
     Task updateTask(Long id, UpdateTaskRequest request);
     
+    Task updateTask(Long id, UpdateTaskRequest request, Long expectedVersion);
+    
     Task updateTaskStatus(Long id, UpdateTaskStatusRequest request);
     
+    Task updateTaskStatus(Long id, UpdateTaskStatusRequest request, Long expectedVersion);
+    
+    Task moveTask(Long id, MoveTaskRequest request, Long expectedVersion);
+    
     void deleteTask(Long id);
-} 
\ No newline at end of file
+    
+    int updateTaskStatuses(List<Long> ids, TaskStatus status);
+    
+    int deleteTasks(List<Long> ids);
+}
@@ -1,73 +1,685 @@
 package com.taskmanager.backend.service.impl;
 
+import com.taskmanager.backend.config.CacheConfig;
 import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.MoveTaskRequest;
+import com.taskmanager.backend.dto.TaskChangesResponse;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskSearchHit;
+import com.taskmanager.backend.dto.TaskSearchResponse;
+import com.taskmanager.backend.dto.TaskStatsResponse;
+import com.taskmanager.backend.dto.TaskStatusRef;
+import com.taskmanager.backend.dto.TaskSummary;
 import com.taskmanager.backend.dto.UpdateTaskRequest;
 import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.exception.InvalidPageRequestException;
 import com.taskmanager.backend.exception.TaskNotFoundException;
+import com.taskmanager.backend.exception.TaskVersionMismatchException;
+import com.taskmanager.backend.model.ArchivedTask;
 import com.taskmanager.backend.model.Task;
 import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.model.TaskTombstone;
+import com.taskmanager.backend.rank.RankKeys;
+import com.taskmanager.backend.rank.TaskRanking;
+import com.taskmanager.backend.replica.ReadConsistency;
+import com.taskmanager.backend.repository.ArchivedTaskRepository;
 import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
+import com.taskmanager.backend.search.TaskSearchIndex;
 import com.taskmanager.backend.service.TaskService;
+import com.taskmanager.backend.stats.TaskStatistics;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import com.taskmanager.backend.writebehind.TaskStatusBuffer;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = "task.service", description = "Time spent in TaskService operations",
+        percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class TaskServiceImpl implements TaskService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    /** Deepest search result reachable by paging; ranking keeps {@code offset + size} hits in memory. */
+    static final int MAX_SEARCH_WINDOW = 10_000;
+
+    /** Matches {@code hibernate.jdbc.batch_size} so each flush sends full JDBC batches. */
+    static final int WRITE_BATCH_SIZE = 100;
+
+    private static final String RANK_CURSOR_SEPARATOR = " ";
+
+    /** Upper bound on ids bound into a single {@code IN} clause. */
+    static final int ID_CHUNK_SIZE = 1000;
+
     private final TaskRepository taskRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TaskSearchIndex searchIndex;
+
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    private final TaskRevisionTracker revisionTracker;
+
+    private final TaskStatistics statistics;
+
+    private final TaskRanking ranking;
+
+    private final TaskStatusBuffer statusBuffer;
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final TransactionTemplate writeTransaction;
+
+    public TaskServiceImpl(TaskRepository taskRepository, EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher, TaskSearchIndex searchIndex,
+                           TaskTombstoneRepository tombstoneRepository, TaskRevisionTracker revisionTracker,
+                           TaskStatistics statistics, TaskRanking ranking, TaskStatusBuffer statusBuffer,
+                           ArchivedTaskRepository archivedTaskRepository, PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.tombstoneRepository = tombstoneRepository;
+        this.revisionTracker = revisionTracker;
+        this.statistics = statistics;
+        this.ranking = ranking;
+        this.statusBuffer = statusBuffer;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public Task createTask(CreateTaskRequest request) {
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(TaskStatus.TODO);
-        return taskRepository.save(task);
+        Task task = newTask(request);
+        task.setRank(ranking.last(task.getWorkspaceId(), task.getStatus()));
+        task = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(task));
+        return task;
+    }
+
+    /**
+     * Inserts the tasks in chunks of {@link #WRITE_BATCH_SIZE}. Ids come from the pooled
+     * sequence and the inserts go out as JDBC batches; the persistence context is cleared after
+     * every chunk so large imports do not accumulate managed entities. The tasks are appended to
+     * their column in request order.
+     */
+    @Override
+    public List<Task> createTasks(List<CreateTaskRequest> requests) {
+        List<Task> created = new ArrayList<>(requests.size());
+        String rank = null;
+        for (int from = 0; from < requests.size(); from += WRITE_BATCH_SIZE) {
+            List<Task> chunk = new ArrayList<>(WRITE_BATCH_SIZE);
+            for (CreateTaskRequest request : requests.subList(from, Math.min(from + WRITE_BATCH_SIZE, requests.size()))) {
+                Task task = newTask(request);
+                rank = rank == null ? ranking.last(task.getWorkspaceId(), task.getStatus()) : RankKeys.between(rank, null);
+                task.setRank(rank);
+                chunk.add(task);
+            }
+            for (Task task : taskRepository.saveAll(chunk)) {
+                created.add(task);
+                eventPublisher.publishEvent(TaskChangedEvent.created(task));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return created;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+        return getAllTasks(false);
     }
 
+    /**
+     * Archived tasks live in their own table and are only read when asked for; they are merged
+     * in by id, which the archive keeps.
+     */
     @Override
     @Transactional(readOnly = true)
+    public List<Task> getAllTasks(boolean includeArchived) {
+        String workspaceId = WorkspaceContext.current();
+        List<Task> tasks = taskRepository.findByWorkspaceIdOrderByIdAsc(workspaceId);
+        if (!includeArchived) {
+            return tasks;
+        }
+        return mergeById(tasks, archivedTaskRepository.findByWorkspaceIdOrderByIdAsc(workspaceId), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keyset pagination over the primary key: each page is a range scan starting after the
+     * last id of the previous page, so the cost of a page does not grow with its depth.
+     * One extra row is fetched to decide whether another page exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage<Task> getTasks(TaskStatus status, Integer limit, String cursor) {
+        return getTasks(status, limit, cursor, false);
+    }
+
+    /**
+     * With {@code includeArchived}, both tables are read from the cursor on and merged by id,
+     * so the same cursor walks over active and archived tasks alike.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage<Task> getTasks(TaskStatus status, Integer limit, String cursor, boolean includeArchived) {
+        int pageSize = resolvePageSize(limit);
+        Long afterId = decodeCursor(cursor);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        String workspaceId = WorkspaceContext.current();
+        List<Task> tasks = status == null
+                ? taskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(workspaceId, afterId, pageable)
+                : taskRepository.findByWorkspaceIdAndStatusAndIdGreaterThanOrderByIdAsc(workspaceId, status, afterId, pageable);
+        if (includeArchived) {
+            List<ArchivedTask> archived = status == null
+                    ? archivedTaskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(workspaceId, afterId, pageable)
+                    : archivedTaskRepository.findByWorkspaceIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                            workspaceId, status, afterId, pageable);
+            tasks = mergeById(tasks, archived, pageSize + 1);
+        }
+        return toPage(tasks, pageSize, Task::getId);
+    }
+
+    /**
+     * A column in board order. Keyset paging as in {@link #getTasks}, over {@code (rank, id)}
+     * through the {@code (status, rank, id)} index, reading only the summary columns.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage<TaskSummary> getTaskSummaries(TaskStatus status, Integer limit, String cursor) {
+        int pageSize = resolvePageSize(limit);
+        String[] position = decodeRankCursor(cursor);
+        List<TaskSummary> summaries = taskRepository.findSummariesByStatus(WorkspaceContext.current(), status,
+                position[0], Long.valueOf(position[1]), PageRequest.of(0, pageSize + 1));
+        if (summaries.size() <= pageSize) {
+            return new TaskPage<>(summaries, null);
+        }
+        List<TaskSummary> page = summaries.subList(0, pageSize);
+        TaskSummary last = page.get(pageSize - 1);
+        return new TaskPage<>(page, encodeCursor(last.getRank() + RANK_CURSOR_SEPARATOR + last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countTasksByStatus(TaskStatus status) {
+        return taskRepository.countByWorkspaceIdAndStatus(WorkspaceContext.current(), status);
+    }
+
+    /**
+     * Falls back to the archive for tasks moved there by retention. Archived tasks are read-only:
+     * writes to them answer as if the task did not exist.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY, unless = CacheConfig.UNLESS_REPLICA_READ)
+    @Transactional(readOnly = true)
     public Task getTaskById(Long id) {
-        return taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+        String workspaceId = WorkspaceContext.current();
+        Optional<Task> active = taskRepository.findByIdAndWorkspaceId(id, workspaceId);
+        if (!active.isPresent()) {
+            return archivedTaskRepository.findByIdAndWorkspaceId(id, workspaceId)
+                    .map(ArchivedTask::toTask)
+                    .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+        }
+        Task task = active.get();
+        TaskStatus pendingStatus = statusBuffer.pendingStatus(workspaceId, id);
+        return pendingStatus == null || pendingStatus == task.getStatus() ? task : withStatus(task, pendingStatus);
+    }
+
+    /**
+     * Hands every task to the consumer in id order. Each entity is detached once consumed so the
+     * persistence context stays empty and heap use is bounded by the JDBC fetch size, not the
+     * table size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamByWorkspaceId(WorkspaceContext.current())) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Ranks matches with the in-memory index, then loads only the tasks on the requested page
+     * with a single query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTasks(String query, Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new InvalidPageRequestException("Page must not be negative");
+        }
+        int pageSize = resolvePageSize(size);
+        if ((long) pageNumber * pageSize + pageSize > MAX_SEARCH_WINDOW) {
+            throw new InvalidPageRequestException(
+                    "Search results beyond the first " + MAX_SEARCH_WINDOW + " are not available");
+        }
+        TaskSearchIndex.SearchResult result = searchIndex.search(
+                WorkspaceContext.current(), query, pageNumber * pageSize, pageSize);
+
+        List<Long> ids = new ArrayList<>(result.getHits().size());
+        for (TaskSearchIndex.Hit hit : result.getHits()) {
+            ids.add(hit.getId());
+        }
+        Map<Long, Task> tasksById = new HashMap<>();
+        for (Task task : taskRepository.findAllById(ids)) {
+            tasksById.put(task.getId(), task);
+        }
+        List<TaskSearchHit> hits = new ArrayList<>(ids.size());
+        for (TaskSearchIndex.Hit hit : result.getHits()) {
+            Task task = tasksById.get(hit.getId());
+            if (task != null) {
+                hits.add(new TaskSearchHit(task, hit.getScore()));
+            }
+        }
+        return new TaskSearchResponse(hits, result.getTotal(), pageNumber, pageSize);
+    }
+
+    /**
+     * Returns tasks changed and deleted after revision {@code since}, read through the revision
+     * indexes so the cost follows the number of changes rather than the table size. Only
+     * revisions up to the tracker's watermark are returned, so a change that commits late is
+     * never skipped. A page ends on a revision boundary; all rows sharing a revision (such as one
+     * bulk update) are returned together.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(Long since, Integer limit) {
+        long from = since == null ? 0L : since;
+        if (from < 0) {
+            throw new InvalidPageRequestException("Revision must not be negative");
+        }
+        int pageSize = resolvePageSize(limit);
+        // the watermark is the primary's; a replica may not have every change below it yet
+        return ReadConsistency.onPrimary(() -> readChanges(from, pageSize));
+    }
+
+    private TaskChangesResponse readChanges(long from, int pageSize) {
+        String workspaceId = WorkspaceContext.current();
+        long watermark = revisionTracker.watermark();
+        Pageable probe = PageRequest.of(0, pageSize);
+
+        List<Long> revisions = new ArrayList<>(taskRepository.findRevisionsBetween(workspaceId, from, watermark, probe));
+        revisions.addAll(tombstoneRepository.findRevisionsBetween(workspaceId, from, watermark, probe));
+        long upTo = watermark;
+        if (revisions.size() >= pageSize) {
+            Collections.sort(revisions);
+            upTo = revisions.get(pageSize - 1);
+        }
+        List<Task> changed = taskRepository.findChangedBetween(workspaceId, from, upTo);
+        List<TaskTombstone> deleted = tombstoneRepository.findBetween(workspaceId, from, upTo);
+        return new TaskChangesResponse(changed, deleted, Math.max(upTo, from), upTo < watermark);
     }
 
+    /**
+     * Served from the incrementally maintained counters without touching the database.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TaskStatsResponse getStats() {
+        return statistics.get(WorkspaceContext.current());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
     public Task updateTask(Long id, UpdateTaskRequest request) {
-        Task task = getTaskById(id);
+        return updateTask(id, request, null);
+    }
+
+    /**
+     * Applies the update only if the task is still at {@code expectedVersion} (when given).
+     * The flush makes the incremented version visible to the caller and surfaces a concurrent
+     * write as an optimistic locking failure inside this call.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    public Task updateTask(Long id, UpdateTaskRequest request, Long expectedVersion) {
+        String workspaceId = WorkspaceContext.current();
+        statusBuffer.writeThrough(workspaceId, Collections.singletonList(id));
+        Task task = taskRepository.findByIdAndWorkspaceId(id, workspaceId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw versionMismatch(id, expectedVersion);
+        }
+        TaskStatus previousStatus = task.getStatus();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
-        if (request.getStatus() != null) {
+        if (request.getStatus() != null && request.getStatus() != previousStatus) {
             task.setStatus(request.getStatus());
+            task.setRank(ranking.last(workspaceId, request.getStatus()));
         }
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        entityManager.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(saved, previousStatus));
+        return saved;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Task updateTaskStatus(Long id, UpdateTaskStatusRequest request) {
+        return updateTaskStatus(id, request, null);
+    }
+
+    /**
+     * With the status buffer enabled, an unconditional update is buffered and the returned task
+     * shows the pending status with its current version. Otherwise, and whenever
+     * {@code expectedVersion} is given, the status is written directly. No transaction is held
+     * around the buffered path, since the caller may wait there for a flush on another connection.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Task updateTaskStatus(Long id, UpdateTaskStatusRequest request, Long expectedVersion) {
+        if (statusBuffer.isEnabled() && expectedVersion == null) {
+            return bufferTaskStatus(id, request.getStatus());
+        }
+        return writeTransaction.execute(status -> writeTaskStatus(id, request.getStatus(), expectedVersion));
+    }
+
+    private Task bufferTaskStatus(Long id, TaskStatus status) {
+        String workspaceId = WorkspaceContext.current();
+        if (!ReadConsistency.onPrimary(() -> taskRepository.existsByIdAndWorkspaceId(id, workspaceId))) {
+            throw new TaskNotFoundException("Task not found with id: " + id);
+        }
+        statusBuffer.write(workspaceId, id, status);
+        return ReadConsistency.onPrimary(() -> getTaskById(id));
+    }
+
+    /**
+     * Writes the new status with a single {@code UPDATE} instead of loading, merging and
+     * dirty-checking the whole entity; only the current status is read first, for the statistics,
+     * and locked so that a concurrent write cannot change it before the update. A task changing
+     * column goes to the bottom of the new one.
+     * A zero row count means the task has been deleted meanwhile or, when {@code expectedVersion}
+     * is given, that it has been modified since.
+     */
+    private Task writeTaskStatus(Long id, TaskStatus newStatus, Long expectedVersion) {
+        String workspaceId = WorkspaceContext.current();
+        statusBuffer.writeThrough(workspaceId, Collections.singletonList(id));
+        TaskStatus previousStatus = taskRepository.findStatusById(id, workspaceId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+        long revision = revisionTracker.next();
+        int updated;
+        if (newStatus == previousStatus) {
+            updated = expectedVersion == null
+                    ? taskRepository.updateStatusById(id, workspaceId, newStatus, revision, Instant.now())
+                    : taskRepository.updateStatusByIdAndVersion(
+                            id, workspaceId, newStatus, expectedVersion, revision, Instant.now());
+        } else {
+            String rank = ranking.last(workspaceId, newStatus);
+            updated = expectedVersion == null
+                    ? taskRepository.moveById(id, workspaceId, newStatus, rank, revision, Instant.now())
+                    : taskRepository.moveByIdAndVersion(
+                            id, workspaceId, newStatus, rank, expectedVersion, revision, Instant.now());
+        }
+        if (updated == 0) {
+            if (expectedVersion != null && taskRepository.existsByIdAndWorkspaceId(id, workspaceId)) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            throw new TaskNotFoundException("Task not found with id: " + id);
+        }
         Task task = getTaskById(id);
-        task.setStatus(request.getStatus());
-        return taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.statusChanged(task, previousStatus));
+        return task;
     }
 
+    /**
+     * Moves the task between its new neighbours by writing a single row: a rank key between
+     * theirs, and the status when the column changes. Other tasks are never renumbered.
+     */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    public Task moveTask(Long id, MoveTaskRequest request, Long expectedVersion) {
+        String workspaceId = WorkspaceContext.current();
+        statusBuffer.writeThrough(workspaceId, Collections.singletonList(id));
+        TaskStatus previousStatus = taskRepository.findStatusById(id, workspaceId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+        TaskStatus status = request.getStatus() == null ? previousStatus : request.getStatus();
+        String rank = ranking.between(workspaceId, status, id, request.getAfterId(), request.getBeforeId());
+        long revision = revisionTracker.next();
+        int updated = expectedVersion == null
+                ? taskRepository.moveById(id, workspaceId, status, rank, revision, Instant.now())
+                : taskRepository.moveByIdAndVersion(id, workspaceId, status, rank, expectedVersion, revision, Instant.now());
+        if (updated == 0) {
+            if (expectedVersion != null && taskRepository.existsByIdAndWorkspaceId(id, workspaceId)) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            throw new TaskNotFoundException("Task not found with id: " + id);
+        }
+        Task task = getTaskById(id);
+        eventPublisher.publishEvent(TaskChangedEvent.moved(task, previousStatus));
+        return task;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
+        String workspaceId = WorkspaceContext.current();
+        statusBuffer.writeThrough(workspaceId, Collections.singletonList(id));
+        TaskStatus previousStatus = taskRepository.findStatusById(id, workspaceId).orElse(null);
+        if (previousStatus == null || taskRepository.deleteTaskById(id, workspaceId) == 0) {
             throw new TaskNotFoundException("Task not found with id: " + id);
         }
-        taskRepository.deleteById(id);
+        entityManager.persist(new TaskTombstone(id, workspaceId, revisionTracker.next(), Instant.now()));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(workspaceId, id, previousStatus));
+    }
+
+    /**
+     * The existing tasks of each chunk are locked while their statuses are read, so exactly
+     * those rows are updated and their events carry the status they actually had. Tasks changing
+     * column are appended to the new one in id order, each with its own key. Buffered statuses
+     * are written through for all tasks up front, before the first chunk locks anything.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public int updateTaskStatuses(List<Long> ids, TaskStatus status) {
+        String workspaceId = WorkspaceContext.current();
+        statusBuffer.writeThrough(workspaceId, ids);
+        int updated = 0;
+        for (List<Long> chunk : distinctChunks(ids)) {
+            List<TaskStatusRef> existing = taskRepository.findStatusesByIds(workspaceId, chunk);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            List<Long> unchanged = new ArrayList<>();
+            List<Long> moved = new ArrayList<>();
+            for (TaskStatusRef task : existing) {
+                (task.getStatus() == status ? unchanged : moved).add(task.getId());
+            }
+            long revision = revisionTracker.next();
+            Instant now = Instant.now();
+            if (!unchanged.isEmpty()) {
+                updated += taskRepository.updateStatusByIds(workspaceId, unchanged, status, revision, now);
+            }
+            updated += ranking.append(workspaceId, status, moved, revision, now);
+            for (TaskStatusRef task : existing) {
+                eventPublisher.publishEvent(TaskChangedEvent.statusChanged(workspaceId, task.getId(), status, task.getStatus()));
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Like {@link #updateTaskStatuses}, the existing tasks are locked first, so tombstones and
+     * events are written for exactly the rows this call deletes.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public int deleteTasks(List<Long> ids) {
+        String workspaceId = WorkspaceContext.current();
+        statusBuffer.writeThrough(workspaceId, ids);
+        int deleted = 0;
+        for (List<Long> chunk : distinctChunks(ids)) {
+            List<TaskStatusRef> existing = taskRepository.findStatusesByIds(workspaceId, chunk);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            deleted += taskRepository.deleteByIds(workspaceId, ids(existing));
+            long revision = revisionTracker.next();
+            Instant deletedAt = Instant.now();
+            for (TaskStatusRef task : existing) {
+                entityManager.persist(new TaskTombstone(task.getId(), workspaceId, revision, deletedAt));
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(workspaceId, task.getId(), task.getStatus()));
+            }
+        }
+        return deleted;
+    }
+
+    private static TaskVersionMismatchException versionMismatch(Long id, Long expectedVersion) {
+        return new TaskVersionMismatchException(
+                "Task with id: " + id + " has been modified since version " + expectedVersion);
+    }
+
+    /** A detached copy showing a buffered status, so the loaded entity itself stays untouched. */
+    private static Task withStatus(Task task, TaskStatus status) {
+        Task copy = new Task(task.getId(), task.getTitle(), task.getDescription(), status);
+        copy.setWorkspaceId(task.getWorkspaceId());
+        copy.setRank(task.getRank());
+        copy.setVersion(task.getVersion());
+        copy.setRevision(task.getRevision());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setStatusPending(true);
+        return copy;
+    }
+
+    private static Task newTask(CreateTaskRequest request) {
+        Task task = new Task();
+        task.setWorkspaceId(WorkspaceContext.current());
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setStatus(TaskStatus.TODO);
+        return task;
+    }
+
+    private static List<Long> ids(List<TaskStatusRef> tasks) {
+        List<Long> ids = new ArrayList<>(tasks.size());
+        for (TaskStatusRef task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private static List<List<Long>> distinctChunks(List<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + ID_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Merges active and archived tasks, both in id order, keeping at most {@code limit}.
+     */
+    private static List<Task> mergeById(List<Task> active, List<ArchivedTask> archived, int limit) {
+        if (archived.isEmpty()) {
+            return active;
+        }
+        List<Task> merged = new ArrayList<>(Math.min(limit, active.size() + archived.size()));
+        int a = 0;
+        int b = 0;
+        while (merged.size() < limit && (a < active.size() || b < archived.size())) {
+            if (b == archived.size() || (a < active.size() && active.get(a).getId() < archived.get(b).getId())) {
+                merged.add(active.get(a++));
+            } else {
+                merged.add(archived.get(b++).toTask());
+            }
+        }
+        return merged;
+    }
+
+    private static <T> TaskPage<T> toPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new TaskPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new TaskPage<>(page, encodeCursor(idOf.apply(page.get(pageSize - 1))));
+    }
+
+    private static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new InvalidPageRequestException("Limit must be a positive number");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static String encodeCursor(Object position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a column cursor into its rank and id. The start of a column sorts before every
+     * key.
+     */
+    private static String[] decodeRankCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new String[]{"", "0"};
+        }
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(RANK_CURSOR_SEPARATOR);
+            if (position.length == 2) {
+                Long.parseLong(position[1]);
+                return position;
+            }
+        } catch (IllegalArgumentException ex) {
+            // reported below
+        }
+        throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package com.taskmanager.backend.stats;
+
+import com.taskmanager.backend.dto.TaskStatsResponse;
+import com.taskmanager.backend.dto.TaskStatusCount;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts per workspace and status, kept in memory so that board statistics cost the same
+ * regardless of the table size.
+ * <p>
+ * Committed task changes adjust the counters by their status transition; {@link LongAdder}
+ * cells keep concurrent writers from contending on one value. Writes that bypass the service
+ * cannot be seen this way, so the counters are reconciled against a {@code GROUP BY} count at
+ * startup and periodically. A count that changes while the query runs is left for the next
+ * round.
+ */
+@Component
+public class TaskStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+
+    private final ConcurrentMap<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    public TaskStatistics(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    public TaskStatsResponse get(String workspaceId) {
+        LongAdder[] workspace = counters.get(workspaceId);
+        if (workspace == null) {
+            return new TaskStatsResponse(0L, 0L, 0L);
+        }
+        return new TaskStatsResponse(
+                value(workspace, TaskStatus.TODO),
+                value(workspace, TaskStatus.IN_PROGRESS),
+                value(workspace, TaskStatus.DONE));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getStatus() == event.getPreviousStatus()) {
+            return;
+        }
+        LongAdder[] workspace = workspace(event.getWorkspaceId());
+        if (event.getPreviousStatus() != null) {
+            workspace[event.getPreviousStatus().ordinal()].decrement();
+        }
+        if (event.getStatus() != null) {
+            workspace[event.getStatus().ordinal()].increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${taskmanager.stats.reconcile-interval-ms}",
+            initialDelayString = "${taskmanager.stats.reconcile-interval-ms}")
+    public void reconcile() {
+        Map<String, long[]> before = snapshot();
+        Map<String, long[]> actual = new HashMap<>();
+        for (TaskStatusCount count : taskRepository.countByWorkspaceAndStatus()) {
+            actual.computeIfAbsent(count.getWorkspaceId(), id -> new long[STATUSES.length])[count.getStatus().ordinal()] = count.getCount();
+            workspace(count.getWorkspaceId());
+        }
+        int corrected = 0;
+        for (Map.Entry<String, LongAdder[]> entry : counters.entrySet()) {
+            long[] expected = actual.getOrDefault(entry.getKey(), new long[STATUSES.length]);
+            long[] seen = before.getOrDefault(entry.getKey(), new long[STATUSES.length]);
+            LongAdder[] workspace = entry.getValue();
+            for (int i = 0; i < STATUSES.length; i++) {
+                long current = workspace[i].sum();
+                // only correct counts no committed change touched while the query ran
+                if (current == seen[i] && current != expected[i]) {
+                    workspace[i].add(expected[i] - current);
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled {} task statistics counters", corrected);
+        }
+    }
+
+    private Map<String, long[]> snapshot() {
+        Map<String, long[]> snapshot = new HashMap<>();
+        for (Map.Entry<String, LongAdder[]> entry : counters.entrySet()) {
+            long[] values = new long[STATUSES.length];
+            for (int i = 0; i < STATUSES.length; i++) {
+                values[i] = entry.getValue()[i].sum();
+            }
+            snapshot.put(entry.getKey(), values);
+        }
+        return snapshot;
+    }
+
+    private LongAdder[] workspace(String workspaceId) {
+        return counters.computeIfAbsent(workspaceId, id -> {
+            LongAdder[] adders = new LongAdder[STATUSES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        });
+    }
+
+    private static long value(LongAdder[] workspace, TaskStatus status) {
+        return workspace[status.ordinal()].sum();
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanager.backend.sync;
+
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.time.Instant;
+
+/**
+ * Stamps a new revision and the modification time on every task insert and update made through
+ * the entity manager, and assigns new tasks to the current workspace unless one is set. Bulk JPQL
+ * updates bypass this and set revision and time themselves.
+ */
+public class TaskRevisionListener {
+
+    private final TaskRevisionTracker revisionTracker;
+
+    public TaskRevisionListener(TaskRevisionTracker revisionTracker) {
+        this.revisionTracker = revisionTracker;
+    }
+
+    @PrePersist
+    public void onCreate(Task task) {
+        if (task.getWorkspaceId() == null) {
+            task.setWorkspaceId(WorkspaceContext.current());
+        }
+        Instant now = Instant.now();
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setRevision(revisionTracker.next());
+    }
+
+    @PreUpdate
+    public void onUpdate(Task task) {
+        task.setUpdatedAt(Instant.now());
+        task.setRevision(revisionTracker.next());
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskmanager.backend.sync;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Hands out revisions for task changes and tracks which of them may still be uncommitted.
+ * <p>
+ * Revisions are assigned when a change is written, not when it commits, so a lower revision can
+ * become visible after a higher one. {@link #watermark()} is the highest revision below every
+ * open writing transaction: everything up to it is either committed or rolled back, so a
+ * client that has synced up to it cannot miss a change later.
+ * <p>
+ * The counter is seeded from the database on first use, so revisions keep increasing across
+ * restarts.
+ */
+@Component
+public class TaskRevisionTracker {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+
+    private long current = -1;
+
+    public TaskRevisionTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public synchronized long next() {
+        seed();
+        long revision = ++current;
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            // A transaction's first revision is its lowest one, which is all the watermark needs.
+            inFlight.add(revision);
+            TransactionSynchronizationManager.bindResource(this, revision);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskRevisionTracker.this);
+                    complete(revision);
+                }
+            });
+        }
+        return revision;
+    }
+
+    /**
+     * The last revision handed out, committed or not.
+     */
+    public synchronized long current() {
+        seed();
+        return current;
+    }
+
+    public synchronized long watermark() {
+        seed();
+        return inFlight.isEmpty() ? current : inFlight.first() - 1;
+    }
+
+    private synchronized void complete(long revision) {
+        inFlight.remove(revision);
+    }
+
+    private void seed() {
+        if (current < 0) {
+            Long tasks = jdbcTemplate.queryForObject("select coalesce(max(revision), 0) from tasks", Long.class);
+            Long tombstones = jdbcTemplate.queryForObject(
+                    "select coalesce(max(revision), 0) from task_tombstones", Long.class);
+            current = Math.max(tasks != null ? tasks : 0L, tombstones != null ? tombstones : 0L);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskmanager.backend.tenant;
+
+import com.taskmanager.backend.exception.InvalidWorkspaceException;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.regex.Pattern;
+
+/**
+ * Holds the workspace (tenant) of the current request. Every {@code TaskService} operation reads
+ * and writes only tasks of this workspace. Code running outside a request, such as startup jobs
+ * and benchmarks, works in {@link #DEFAULT_WORKSPACE}.
+ */
+public final class WorkspaceContext {
+
+    public static final String HEADER = "X-Workspace-Id";
+
+    public static final String DEFAULT_WORKSPACE = "default";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private WorkspaceContext() {
+    }
+
+    public static String current() {
+        String workspaceId = CURRENT.get();
+        return workspaceId != null ? workspaceId : DEFAULT_WORKSPACE;
+    }
+
+    public static void set(String workspaceId) {
+        if (workspaceId == null || !VALID_ID.matcher(workspaceId).matches()) {
+            throw new InvalidWorkspaceException("Invalid workspace id: " + workspaceId);
+        }
+        CURRENT.set(workspaceId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Carries the submitting thread's workspace over to executor threads, such as the one
+     * writing a streamed export.
+     */
+    public static TaskDecorator propagating() {
+        return task -> {
+            String workspaceId = CURRENT.get();
+            return () -> {
+                String previous = CURRENT.get();
+                setOrClear(workspaceId);
+                try {
+                    task.run();
+                } finally {
+                    setOrClear(previous);
+                }
+            };
+        };
+    }
+
+    private static void setOrClear(String workspaceId) {
+        if (workspaceId != null) {
+            CURRENT.set(workspaceId);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
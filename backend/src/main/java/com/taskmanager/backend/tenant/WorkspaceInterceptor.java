@@ -0,0 +1,35 @@
+package com.taskmanager.backend.tenant;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the {@code X-Workspace-Id} request header to {@link WorkspaceContext} for the duration of
+ * the request. Requests without the header work in the default workspace. Asynchronous work
+ * started by the request picks the workspace up through {@link WorkspaceContext#propagating()}.
+ */
+public class WorkspaceInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String workspaceId = request.getHeader(WorkspaceContext.HEADER);
+        if (workspaceId == null || workspaceId.isEmpty()) {
+            WorkspaceContext.clear();
+        } else {
+            WorkspaceContext.set(workspaceId.trim());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        WorkspaceContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        WorkspaceContext.clear();
+    }
+}
@@ -0,0 +1,426 @@
+package com.taskmanager.backend.writebehind;
+
+import com.taskmanager.backend.config.CacheConfig;
+import com.taskmanager.backend.dto.TaskStatusRef;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.exception.TaskNotFoundException;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.rank.TaskRanking;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind for single-task status updates, enabled with
+ * {@code taskmanager.status-buffer.enabled}.
+ * <p>
+ * Dragging a card back and forth sends a burst of status updates for the same task. Instead of a
+ * transaction each, they land in a map keyed by task where a later status replaces an earlier
+ * one. The map is flushed every {@code flush-interval-ms}, or as soon as it holds
+ * {@code flush-size} tasks, in one transaction with one batch of updates per workspace and
+ * status, which appends the tasks to their new columns. A task whose status ends up where it
+ * started is not written at all.
+ * <p>
+ * With durability {@code buffered} an update is acknowledged once it is buffered; pending updates
+ * are lost if the process dies, while a graceful shutdown flushes them. With {@code flushed} the
+ * caller waits for the commit of the flush holding its update, so concurrent bursts still share
+ * one transaction; if that flush rolls back, the caller keeps waiting for the retry.
+ * <p>
+ * Any other write to a task first writes its pending status through in the writer's own
+ * transaction ({@link #writeThrough}), so an older buffered status never lands on top of a newer
+ * direct write.
+ */
+@Component
+public class TaskStatusBuffer implements SmartLifecycle {
+
+    public enum Durability {
+        BUFFERED, FLUSHED
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusBuffer.class);
+
+    private final TaskRepository taskRepository;
+
+    private final TaskRevisionTracker revisionTracker;
+
+    private final TaskRanking ranking;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Cache tasksCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final Durability durability;
+
+    private final int flushSize;
+
+    private final ConcurrentMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+    /** Updates taken from the buffer whose transaction has not completed yet; reads still see them. */
+    private final ConcurrentMap<String, Pending> inFlight = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter coalesced;
+
+    private final Counter failures;
+
+    private final Timer flushLatency;
+
+    private volatile boolean running;
+
+    public TaskStatusBuffer(TaskRepository taskRepository, TaskRevisionTracker revisionTracker, TaskRanking ranking,
+                            ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${taskmanager.status-buffer.enabled}") boolean enabled,
+                            @Value("${taskmanager.status-buffer.durability}") Durability durability,
+                            @Value("${taskmanager.status-buffer.flush-size}") int flushSize) {
+        this.taskRepository = taskRepository;
+        this.revisionTracker = revisionTracker;
+        this.ranking = ranking;
+        this.eventPublisher = eventPublisher;
+        this.tasksCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.durability = durability;
+        this.flushSize = flushSize;
+        Gauge.builder("task.status.buffer.pending", pending, Map::size)
+                .description("Tasks with a buffered status update")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("task.status.buffer.coalesced")
+                .description("Status updates replaced by a later update to the same task before a flush")
+                .register(meterRegistry);
+        this.failures = Counter.builder("task.status.buffer.failures")
+                .description("Flushes that rolled back; their updates are buffered again")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("task.status.buffer.flush.latency")
+                .description("Time from a task's first buffered update to the commit that wrote it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers a status update, replacing any update to the same task still pending. With
+     * durability {@code flushed} this returns once the update has been committed, and fails with
+     * {@link TaskNotFoundException} if the task was deleted before that.
+     */
+    public void write(String workspaceId, Long taskId, TaskStatus status) {
+        Pending entry = pending.compute(CacheConfig.taskKey(workspaceId, taskId), (key, existing) -> {
+            if (existing == null) {
+                return new Pending(workspaceId, taskId, status, System.nanoTime());
+            }
+            existing.status = status;
+            coalesced.increment();
+            return existing;
+        });
+        if (pending.size() >= flushSize) {
+            flush();
+        }
+        if (durability == Durability.FLUSHED) {
+            await(entry);
+        }
+    }
+
+    /**
+     * @return the buffered status of a task, or null if it has none pending
+     */
+    public TaskStatus pendingStatus(String workspaceId, Long taskId) {
+        if (pending.isEmpty() && inFlight.isEmpty()) {
+            return null;
+        }
+        String key = CacheConfig.taskKey(workspaceId, taskId);
+        Pending entry = pending.get(key);
+        if (entry == null) {
+            entry = inFlight.get(key);
+        }
+        return entry == null ? null : entry.status;
+    }
+
+    /**
+     * Writes the pending statuses of the given tasks in the current transaction, ahead of a direct
+     * write to them. Must run inside a transaction, before it locks any task row.
+     * <p>
+     * Waits for a running flush to commit first: it may hold an older status of these tasks,
+     * which must not land after the direct write. The flush locks rows while holding the lock
+     * waited for here, so a caller already holding row locks could deadlock with it.
+     */
+    public void writeThrough(String workspaceId, Collection<Long> taskIds) {
+        if (pending.isEmpty() && !flushLock.isLocked()) {
+            return;
+        }
+        List<Pending> entries = new ArrayList<>();
+        flushLock.lock();
+        try {
+            for (Long taskId : taskIds) {
+                Pending entry = take(CacheConfig.taskKey(workspaceId, taskId));
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        if (!entries.isEmpty()) {
+            writeInTransaction(entries);
+        }
+    }
+
+    /**
+     * Flushes everything buffered so far, in transactions of up to {@code flush-size} tasks.
+     * Skipped while another flush is running; its caller or the next run picks up what is left.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.status-buffer.flush-interval-ms}",
+            initialDelayString = "${taskmanager.status-buffer.flush-interval-ms}")
+    public void flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        Iterator<String> keys = pending.keySet().iterator();
+        while (keys.hasNext()) {
+            List<Pending> batch = new ArrayList<>(Math.min(flushSize, pending.size()));
+            while (keys.hasNext() && batch.size() < flushSize) {
+                Pending entry = take(keys.next());
+                if (entry != null) {
+                    batch.add(entry);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeInTransaction(batch));
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn("Could not flush {} buffered status updates, they will be retried", batch.size(), ex);
+            }
+        }
+    }
+
+    private Pending take(String key) {
+        Pending entry = pending.get(key);
+        if (entry == null) {
+            return null;
+        }
+        inFlight.put(key, entry);
+        if (pending.remove(key, entry)) {
+            return entry;
+        }
+        inFlight.remove(key, entry);
+        return null;
+    }
+
+    /**
+     * Completes the batch's callers once the transaction commits, or buffers the batch again if
+     * it rolls back, unless a newer update to the same task has been buffered meanwhile. Either
+     * way the callers keep waiting, for the retry or for the newer update.
+     */
+    private void writeInTransaction(List<Pending> batch) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    committed(batch);
+                } else {
+                    requeue(batch);
+                }
+            }
+        });
+        Map<String, List<Pending>> byWorkspace = new HashMap<>();
+        for (Pending entry : batch) {
+            byWorkspace.computeIfAbsent(entry.workspaceId, workspaceId -> new ArrayList<>()).add(entry);
+        }
+        byWorkspace.forEach(this::writeWorkspace);
+    }
+
+    private void writeWorkspace(String workspaceId, List<Pending> entries) {
+        Map<Long, Pending> byId = new LinkedHashMap<>();
+        for (Pending entry : entries) {
+            byId.put(entry.taskId, entry);
+        }
+        Map<TaskStatus, List<TaskStatusRef>> changes = new EnumMap<>(TaskStatus.class);
+        for (TaskStatusRef current : taskRepository.findStatusesByIds(workspaceId, byId.keySet())) {
+            TaskStatus target = byId.remove(current.getId()).status;
+            if (target != current.getStatus()) {
+                changes.computeIfAbsent(target, status -> new ArrayList<>()).add(current);
+            }
+        }
+        for (Pending deleted : byId.values()) {
+            deleted.committed.completeExceptionally(
+                    new TaskNotFoundException("Task not found with id: " + deleted.taskId));
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        long revision = revisionTracker.next();
+        Instant now = Instant.now();
+        changes.forEach((status, tasks) -> {
+            List<Long> ids = new ArrayList<>(tasks.size());
+            for (TaskStatusRef task : tasks) {
+                ids.add(task.getId());
+            }
+            ranking.append(workspaceId, status, ids, revision, now);
+            for (TaskStatusRef task : tasks) {
+                eventPublisher.publishEvent(
+                        TaskChangedEvent.statusChanged(workspaceId, task.getId(), status, task.getStatus()));
+                if (tasksCache != null) {
+                    tasksCache.evict(CacheConfig.taskKey(workspaceId, task.getId()));
+                }
+            }
+        });
+    }
+
+    private void committed(List<Pending> batch) {
+        long now = System.nanoTime();
+        for (Pending entry : batch) {
+            inFlight.remove(entry.key(), entry);
+            if (entry.committed.complete(null)) {
+                flushLatency.record(now - entry.bufferedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void requeue(List<Pending> batch) {
+        for (Pending entry : batch) {
+            if (!entry.committed.isDone()) {
+                Pending newer = pending.putIfAbsent(entry.key(), new Pending(entry));
+                if (newer != null) {
+                    newer.committed.whenComplete((ignored, failure) -> {
+                        if (failure == null) {
+                            entry.committed.complete(null);
+                        } else {
+                            entry.committed.completeExceptionally(failure);
+                        }
+                    });
+                }
+            }
+            inFlight.remove(entry.key(), entry);
+        }
+    }
+
+    private static void await(Pending entry) {
+        try {
+            entry.committed.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Status update of task " + entry.taskId + " failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the status update of task " + entry.taskId, ex);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Flushes what is left once the web server has stopped taking requests.
+     */
+    @Override
+    public void stop() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server's phases, so this stops after it.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private static final class Pending {
+
+        private final String workspaceId;
+
+        private final Long taskId;
+
+        private final long bufferedAt;
+
+        private final CompletableFuture<Void> committed;
+
+        private volatile TaskStatus status;
+
+        private Pending(String workspaceId, Long taskId, TaskStatus status, long bufferedAt) {
+            this.workspaceId = workspaceId;
+            this.taskId = taskId;
+            this.status = status;
+            this.bufferedAt = bufferedAt;
+            this.committed = new CompletableFuture<>();
+        }
+
+        /** A rolled back entry buffered again; its callers wait on the same future. */
+        private Pending(Pending rolledBack) {
+            this.workspaceId = rolledBack.workspaceId;
+            this.taskId = rolledBack.taskId;
+            this.status = rolledBack.status;
+            this.bufferedAt = rolledBack.bufferedAt;
+            this.committed = rolledBack.committed;
+        }
+
+        private String key() {
+            return CacheConfig.taskKey(workspaceId, taskId);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      VARCHAR(255) NOT NULL,
+    version     BIGINT,
+    CONSTRAINT pk_tasks PRIMARY KEY (id)
+);
@@ -0,0 +1,2 @@
+-- Serves per-status filters, counts and keyset paging ordered by id within a status.
+CREATE INDEX idx_tasks_status_id ON tasks (status, id);
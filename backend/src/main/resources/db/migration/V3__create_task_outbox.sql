@@ -0,0 +1,11 @@
+CREATE SEQUENCE task_outbox_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE task_outbox (
+    id         BIGINT       NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    task_id    BIGINT       NOT NULL,
+    status     VARCHAR(255),
+    payload    TEXT,
+    created_at TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_task_outbox PRIMARY KEY (id)
+);
@@ -0,0 +1,20 @@
+ALTER TABLE tasks ADD COLUMN revision BIGINT;
+ALTER TABLE tasks ADD COLUMN created_at TIMESTAMP;
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP;
+
+UPDATE tasks SET revision = id, created_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP;
+
+ALTER TABLE tasks ALTER COLUMN revision SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_tasks_revision ON tasks (revision);
+
+CREATE TABLE task_tombstones (
+    task_id    BIGINT    NOT NULL,
+    revision   BIGINT    NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_task_tombstones PRIMARY KEY (task_id)
+);
+
+CREATE INDEX idx_task_tombstones_revision ON task_tombstones (revision);
@@ -0,0 +1,17 @@
+ALTER TABLE tasks ADD COLUMN workspace_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE tasks ALTER COLUMN workspace_id DROP DEFAULT;
+
+DROP INDEX idx_tasks_status_id;
+DROP INDEX idx_tasks_revision;
+CREATE INDEX idx_tasks_workspace_id ON tasks (workspace_id, id);
+CREATE INDEX idx_tasks_workspace_status_id ON tasks (workspace_id, status, id);
+CREATE INDEX idx_tasks_workspace_revision ON tasks (workspace_id, revision);
+
+ALTER TABLE task_tombstones ADD COLUMN workspace_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE task_tombstones ALTER COLUMN workspace_id DROP DEFAULT;
+
+DROP INDEX idx_task_tombstones_revision;
+CREATE INDEX idx_task_tombstones_workspace_revision ON task_tombstones (workspace_id, revision);
+
+ALTER TABLE task_outbox ADD COLUMN workspace_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE task_outbox ALTER COLUMN workspace_id DROP DEFAULT;
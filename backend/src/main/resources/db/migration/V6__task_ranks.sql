@@ -0,0 +1,9 @@
+ALTER TABLE tasks ADD COLUMN sort_rank VARCHAR(255);
+
+-- Existing tasks keep their id order within each column. Zero-padded ids are valid, if long,
+-- rank keys; the rank rebalancer shortens them on its first run.
+UPDATE tasks SET sort_rank = LPAD(CAST(id AS VARCHAR), 19, '0') || 'V';
+
+ALTER TABLE tasks ALTER COLUMN sort_rank SET NOT NULL;
+
+CREATE INDEX idx_tasks_workspace_status_rank ON tasks (workspace_id, status, sort_rank, id);
@@ -0,0 +1,19 @@
+-- DONE tasks past the retention period move here; the archive keeps their ids.
+CREATE TABLE tasks_archive (
+    id           BIGINT       NOT NULL,
+    workspace_id VARCHAR(64)  NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    description  TEXT,
+    status       VARCHAR(255) NOT NULL,
+    version      BIGINT,
+    created_at   TIMESTAMP    NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL,
+    archived_at  TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_tasks_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tasks_archive_workspace_id ON tasks_archive (workspace_id, id);
+CREATE INDEX idx_tasks_archive_workspace_status_id ON tasks_archive (workspace_id, status, id);
+
+-- The archiver looks for old DONE tasks across all workspaces.
+CREATE INDEX idx_tasks_status_updated ON tasks (status, updated_at);
@@ -0,0 +1,52 @@
+package com.taskmanager.backend;
+
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.outbox.TaskOutboxRelay;
+import com.taskmanager.backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots prod with the fast-startup profile layered on top: beans are lazy and JPA bootstraps in
+ * the background, but scheduled jobs must still be registered at startup.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:faststartup;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"prod", "fast-startup"})
+class FastStartupProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Test
+    void scheduledJobs_ShouldBeRegisteredEagerly() {
+        Set<String> jobs = scheduledTaskHolder.getScheduledTasks().stream()
+                .map(ScheduledTask::toString)
+                .collect(Collectors.toSet());
+
+        assertThat(jobs).anyMatch(job -> job.startsWith(TaskOutboxRelay.class.getName()));
+        assertThat(context.getBeanFactory().containsSingleton("taskController")).isFalse();
+    }
+
+    @Test
+    void lazyServices_ShouldWorkOnFirstUse() {
+        TaskService taskService = context.getBean(TaskService.class);
+
+        Task task = taskService.createTask(new CreateTaskRequest("Lazy", "Created after startup"));
+
+        assertThat(taskService.getTaskById(task.getId()).getTitle()).isEqualTo("Lazy");
+    }
+}
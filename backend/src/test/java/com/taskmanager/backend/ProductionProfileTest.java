@@ -0,0 +1,30 @@
+package com.taskmanager.backend;
+
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the prod profile against a throwaway database: Flyway builds the schema and Hibernate
+ * validates the entities against it, so a migration that drifts from the model fails here.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prodprofile;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+class ProductionProfileTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void migratedSchema_ShouldMatchEntities() {
+        Task task = taskService.createTask(new CreateTaskRequest("Migrated", "Stored via Flyway schema"));
+
+        assertThat(taskService.getTaskById(task.getId()).getTitle()).isEqualTo("Migrated");
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.backend.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadShedderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AtomicInteger pendingConnections;
+
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pendingConnections = meterRegistry.gauge(LoadShedder.PENDING_CONNECTIONS_METRIC, new AtomicInteger());
+        loadShedder = new LoadShedder(meterRegistry, true, 2, Duration.ofMillis(100));
+        loadShedder.resolvePoolMeters();
+    }
+
+    @Test
+    void tryEnter_ShouldShedAboveConcurrencyLimitUntilARequestExits() {
+        // When
+        boolean first = loadShedder.tryEnter();
+        boolean second = loadShedder.tryEnter();
+        boolean third = loadShedder.tryEnter();
+        loadShedder.exit();
+        boolean afterExit = loadShedder.tryEnter();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(afterExit).isTrue();
+        assertThat(meterRegistry.get(LoadShedder.IN_FLIGHT_METRIC).gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void tryEnter_ShouldShedWhileRequestsWaitLongForConnections() {
+        // Given
+        meterRegistry.timer(LoadShedder.CONNECTION_ACQUIRE_METRIC).record(500, TimeUnit.MILLISECONDS);
+        loadShedder.resolvePoolMeters();
+
+        // When
+        boolean idlePool = loadShedder.tryEnter();
+        loadShedder.exit();
+        pendingConnections.set(3);
+        boolean congestedPool = loadShedder.tryEnter();
+
+        // Then
+        assertThat(idlePool).isTrue();
+        assertThat(congestedPool).isFalse();
+        assertThat(meterRegistry.get(LoadShedder.IN_FLIGHT_METRIC).gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    void tryEnter_WhenDisabled_ShouldAdmitEverything() {
+        // Given
+        LoadShedder disabled = new LoadShedder(new SimpleMeterRegistry(), false, 0, Duration.ZERO);
+
+        // When / Then
+        assertThat(disabled.tryEnter()).isTrue();
+    }
+}
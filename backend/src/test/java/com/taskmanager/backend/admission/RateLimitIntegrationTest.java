@@ -0,0 +1,77 @@
+package com.taskmanager.backend.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "taskmanager.ratelimit.rules=POST /api/tasks 2/1m,* /api/** 1000/1s",
+        "taskmanager.ratelimit.api-keys=script,someone-else,crawler"
+})
+@AutoConfigureMockMvc
+@Transactional
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createTask_OverLimit_ShouldReturn429WithRetryAfterPerClient() throws Exception {
+        mockMvc.perform(create("script")).andExpect(status().isCreated());
+        mockMvc.perform(create("script")).andExpect(status().isCreated());
+
+        mockMvc.perform(create("script"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, is("30")))
+                .andExpect(jsonPath("$.status", is(429)));
+
+        // other clients and other endpoints keep their own budgets
+        mockMvc.perform(create("someone-else")).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/tasks").header(RateLimiter.API_KEY_HEADER, "script"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void createTask_WithUnknownApiKeys_ShouldShareTheAddressBudget() throws Exception {
+        mockMvc.perform(create("made-up-1")).andExpect(status().isCreated());
+        mockMvc.perform(create("made-up-2")).andExpect(status().isCreated());
+
+        mockMvc.perform(create("made-up-3")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void createTask_WithPathParameters_ShouldStillBeLimited() throws Exception {
+        mockMvc.perform(create("crawler")).andExpect(status().isCreated());
+        mockMvc.perform(create("crawler")).andExpect(status().isCreated());
+
+        mockMvc.perform(create("crawler", "/api/tasks;jsessionid=0123456789ABCDEF"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private MockHttpServletRequestBuilder create(String apiKey) throws Exception {
+        return create(apiKey, "/api/tasks");
+    }
+
+    private MockHttpServletRequestBuilder create(String apiKey, String path) throws Exception {
+        return post(path)
+                .header(RateLimiter.API_KEY_HEADER, apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest("Limited task", null)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.taskmanager.backend.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.UpdateTaskRequest;
+import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.ArchivedTaskRepository;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
+import com.taskmanager.backend.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the archiver directly; the schedule is pushed out of the way.
+ */
+@SpringBootTest(properties = {
+        "taskmanager.archive.retention=30d",
+        "taskmanager.archive.batch-size=2",
+        "taskmanager.archive.interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class TaskArchiverIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        archivedTaskRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyOldDoneTasks() throws Exception {
+        Task oldDone = createTask("Old done", TaskStatus.DONE, Duration.ofDays(60));
+        Task otherOldDone = createTask("Other old done", TaskStatus.DONE, Duration.ofDays(45));
+        Task oldDone3 = createTask("Third old done", TaskStatus.DONE, Duration.ofDays(31));
+        Task recentDone = createTask("Recent done", TaskStatus.DONE, Duration.ofDays(1));
+        Task oldTodo = createTask("Old todo", TaskStatus.TODO, Duration.ofDays(60));
+
+        assertThat(archiver.archive()).isEqualTo(3);
+
+        assertThat(taskRepository.findAll()).extracting(Task::getId)
+                .containsExactlyInAnyOrder(recentDone.getId(), oldTodo.getId());
+        assertThat(archivedTaskRepository.findAll()).hasSize(3);
+        mockMvc.perform(get("/api/tasks/changes").param("since", "0"))
+                .andExpect(jsonPath("$.deleted[*].taskId", containsInAnyOrder(
+                        oldDone.getId().intValue(), otherOldDone.getId().intValue(), oldDone3.getId().intValue())));
+        assertThat(archiver.archive()).isZero();
+    }
+
+    @Test
+    void archivedTask_ShouldBeReadableButNotWritable() throws Exception {
+        Task oldDone = createTask("Old done", TaskStatus.DONE, Duration.ofDays(60));
+        Task active = createTask("Active", TaskStatus.TODO, Duration.ofDays(0));
+        archiver.archive();
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$[*].id", contains(active.getId().intValue())));
+        mockMvc.perform(get("/api/tasks").param("includeArchived", "true"))
+                .andExpect(jsonPath("$[*].id", contains(oldDone.getId().intValue(), active.getId().intValue())))
+                .andExpect(jsonPath("$[0].archivedAt", notNullValue()))
+                .andExpect(jsonPath("$[1].archivedAt").doesNotExist());
+        mockMvc.perform(get("/api/tasks").param("limit", "1").param("includeArchived", "true"))
+                .andExpect(jsonPath("$.items[*].id", contains(oldDone.getId().intValue())))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+
+        mockMvc.perform(get("/api/tasks/{id}", oldDone.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Old done")))
+                .andExpect(jsonPath("$.status", is("DONE")))
+                .andExpect(jsonPath("$.archivedAt", notNullValue()));
+        mockMvc.perform(put("/api/tasks/{id}", oldDone.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTaskRequest("Reopened", null, TaskStatus.TODO))))
+                .andExpect(status().isNotFound());
+        assertThat(taskRepository.existsById(oldDone.getId())).isFalse();
+    }
+
+    private Task createTask(String title, TaskStatus status, Duration age) {
+        Task task = taskService.createTask(new CreateTaskRequest(title, null));
+        if (status != TaskStatus.TODO) {
+            task = taskService.updateTaskStatus(task.getId(), new UpdateTaskStatusRequest(status));
+        }
+        jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minus(age)), task.getId());
+        return task;
+    }
+}
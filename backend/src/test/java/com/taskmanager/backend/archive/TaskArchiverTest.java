@@ -0,0 +1,117 @@
+package com.taskmanager.backend.archive;
+
+import com.taskmanager.backend.model.ArchivedTask;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import com.taskmanager.backend.writebehind.TaskStatusBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiverTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TaskRevisionTracker revisionTracker;
+
+    @Mock
+    private TaskStatusBuffer statusBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archive_WhenAChunkIsKeptEntirely_ShouldGoOnWithTheNextChunk() {
+        // Given
+        TaskArchiver archiver = new TaskArchiver(taskRepository, entityManager, revisionTracker, statusBuffer,
+                eventPublisher, cacheManager, transactionManager, new SimpleMeterRegistry(),
+                true, Duration.ofDays(30), 2);
+        Task reopened1 = doneTask(1L);
+        Task reopened2 = doneTask(2L);
+        Task old = doneTask(3L);
+        when(taskRepository.findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(eq(TaskStatus.DONE), any(Instant.class),
+                any(Pageable.class)))
+                .thenReturn(Arrays.asList(reopened1, reopened2))
+                .thenReturn(Collections.singletonList(old))
+                .thenReturn(Collections.emptyList());
+        when(taskRepository.findByIdsUnchangedSince(anyCollection(), eq(TaskStatus.DONE), any(Instant.class)))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(old));
+        when(taskRepository.deleteByIdsUnchangedSince(eq(Collections.singletonList(3L)), eq(TaskStatus.DONE),
+                any(Instant.class))).thenReturn(1);
+
+        // When
+        int archived = archiver.archive();
+
+        // Then
+        assertThat(archived).isEqualTo(1);
+        verify(entityManager).persist(any(ArchivedTask.class));
+        verify(taskRepository, times(3)).findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                eq(TaskStatus.DONE), any(Instant.class), any(Pageable.class));
+        verify(taskRepository, times(1)).deleteByIdsUnchangedSince(anyCollection(), any(), any());
+    }
+
+    @Test
+    void archive_ShouldWriteBufferedStatusesThroughBeforeLockingCandidates() {
+        // Given
+        TaskArchiver archiver = new TaskArchiver(taskRepository, entityManager, revisionTracker, statusBuffer,
+                eventPublisher, cacheManager, transactionManager, new SimpleMeterRegistry(),
+                true, Duration.ofDays(30), 2);
+        Task old = doneTask(1L);
+        when(taskRepository.findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(eq(TaskStatus.DONE), any(Instant.class),
+                any(Pageable.class)))
+                .thenReturn(Collections.singletonList(old))
+                .thenReturn(Collections.emptyList());
+        when(taskRepository.findByIdsUnchangedSince(anyCollection(), eq(TaskStatus.DONE), any(Instant.class)))
+                .thenReturn(Collections.singletonList(old));
+        when(taskRepository.deleteByIdsUnchangedSince(anyCollection(), eq(TaskStatus.DONE), any(Instant.class)))
+                .thenReturn(1);
+
+        // When
+        archiver.archive();
+
+        // Then
+        InOrder order = inOrder(statusBuffer, taskRepository);
+        order.verify(statusBuffer).writeThrough("default", Collections.singletonList(1L));
+        order.verify(taskRepository).findByIdsUnchangedSince(anyCollection(), eq(TaskStatus.DONE), any(Instant.class));
+    }
+
+    private static Task doneTask(Long id) {
+        Task task = new Task(id, "Task " + id, null, TaskStatus.DONE);
+        task.setWorkspaceId("default");
+        return task;
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionModeConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(ExecutionModeConfig.class);
+
+    @Test
+    void defaultMode_ShouldKeepTomcatWorkerPool() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class);
+            assertThat(context).hasBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+        });
+    }
+
+    @Test
+    void virtualMode_ShouldUseVirtualThreadsOrFailFast() {
+        contextRunner.withPropertyValues("taskmanager.execution.mode=virtual").run(context -> {
+            if (virtualThreadsAvailable()) {
+                assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+                assertThat(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                        AsyncTaskExecutor.class)).isNotNull();
+            } else {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure()).hasRootCauseMessage(
+                        "taskmanager.execution.mode=virtual requires Java 21 or later, but this JVM is Java "
+                                + System.getProperty("java.version"));
+            }
+        });
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.taskmanager.backend.config;
+
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.UpdateTaskRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.service.TaskService;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).clear();
+    }
+
+    @Test
+    void getTaskById_WhenUpdateCommitsBeforeTheReadDoes_ShouldNotCacheTheOldTask() throws Exception {
+        // Given
+        Task task = taskService.createTask(new CreateTaskRequest("Before", null));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When: the read misses and loads the task, the update commits and evicts, then the
+            // read commits and its deferred put reaches the cache
+            Future<Task> reader = executor.submit(() -> readOnly.execute(status -> {
+                Task loaded = taskService.getTaskById(task.getId());
+                read.countDown();
+                awaitQuietly(updated);
+                return loaded;
+            }));
+            assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+            taskService.updateTask(task.getId(), new UpdateTaskRequest("After", null, TaskStatus.TODO));
+            updated.countDown();
+
+            // Then
+            assertThat(reader.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("Before");
+            Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+            assertThat(cache.get(CacheConfig.taskKey(WorkspaceContext.DEFAULT_WORKSPACE, task.getId()))).isNull();
+            assertThat(taskService.getTaskById(task.getId()).getTitle()).isEqualTo("After");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getTaskById_WithoutConcurrentWrites_ShouldCacheTheTask() {
+        // Given
+        Task task = taskService.createTask(new CreateTaskRequest("Cached", null));
+
+        // When
+        taskService.getTaskById(task.getId());
+
+        // Then
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        assertThat(cache.get(CacheConfig.taskKey(WorkspaceContext.DEFAULT_WORKSPACE, task.getId()))).isNotNull();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
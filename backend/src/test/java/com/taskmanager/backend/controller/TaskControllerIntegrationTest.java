@@ -1,21 +1,48 @@
 package com.taskmanager.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskmanager.backend.dto.BulkCreateTaskRequest;
+import com.taskmanager.backend.dto.BulkDeleteTaskRequest;
+import com.taskmanager.backend.dto.BulkUpdateTaskStatusRequest;
 import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.MoveTaskRequest;
 import com.taskmanager.backend.dto.UpdateTaskRequest;
 import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.idempotency.IdempotencyStore;
 import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskOutboxEvent;
 import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
 import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.stats.TaskStatistics;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,6 +62,15 @@ class TaskControllerIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskStatistics statistics;
+
     private Task savedTask;
 
     @BeforeEach
@@ -63,6 +99,85 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.status", is("TODO")));
     }
 
+    @Test
+    void createTask_ShouldRecordOutboxEventInSameTransaction() throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest("Outboxed task", null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).path("id").asLong();
+
+        assertThat(outboxRepository.findAll())
+                .filteredOn(event -> event.getTaskId().equals(id))
+                .extracting(TaskOutboxEvent::getEventType)
+                .containsExactly(TaskChangedEvent.Type.CREATED);
+    }
+
+    @Test
+    void createTask_WithRepeatedIdempotencyKey_ShouldReplayTheFirstResponse() throws Exception {
+        String content = objectMapper.writeValueAsString(new CreateTaskRequest("Retried task", null));
+        String first = mockMvc.perform(post("/api/tasks")
+                .header(IdempotencyStore.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(first).path("id").asLong();
+
+        mockMvc.perform(post("/api/tasks")
+                .header(IdempotencyStore.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is((int) id)));
+
+        assertThat(taskRepository.findAll())
+                .filteredOn(task -> task.getTitle().equals("Retried task"))
+                .hasSize(1);
+    }
+
+    @Test
+    void createTask_WithIdempotencyKeyRetriedAfterDelete_ShouldReplayTheOriginalResponse() throws Exception {
+        String content = objectMapper.writeValueAsString(new CreateTaskRequest("Deleted later", null));
+        MvcResult first = mockMvc.perform(post("/api/tasks")
+                .header(IdempotencyStore.HEADER, "retry-3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = objectMapper.readTree(first.getResponse().getContentAsString()).path("id").asLong();
+        mockMvc.perform(delete("/api/tasks/{id}", id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/tasks")
+                .header(IdempotencyStore.HEADER, "retry-3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(jsonPath("$.id", is((int) id)))
+                .andExpect(jsonPath("$.title", is("Deleted later")));
+    }
+
+    @Test
+    void createTask_ReusingIdempotencyKeyForOtherBody_ShouldReturn422() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .header(IdempotencyStore.HEADER, "retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest("First", null))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/tasks")
+                .header(IdempotencyStore.HEADER, "retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest("Second", null))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void createTask_WithInvalidData_ShouldReturn400() throws Exception {
         CreateTaskRequest request = new CreateTaskRequest();
@@ -82,6 +197,334 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].title", is("Test Task")));
     }
 
+    @Test
+    void getAllTasks_WithCborAccept_ShouldReturnCbor() throws Exception {
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        byte[] body = mockMvc.perform(get("/api/tasks").accept(cbor))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tasks = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(tasks).hasSize(1);
+        assertThat(tasks.get(0).path("title").asText()).isEqualTo("Test Task");
+        assertThat(tasks.get(0).path("createdAt").isTextual()).isTrue();
+    }
+
+    @Test
+    void getTaskById_WithSmileAccept_ShouldReturnSmile() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] body = mockMvc.perform(get("/api/tasks/" + savedTask.getId()).accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode task = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(task.path("id").asLong()).isEqualTo(savedTask.getId());
+        assertThat(task.path("status").asText()).isEqualTo("TODO");
+    }
+
+    @Test
+    void getTasks_WithLimit_ShouldPageThroughCursor() throws Exception {
+        Task second = new Task();
+        second.setTitle("Second Task");
+        second.setStatus(TaskStatus.TODO);
+        taskRepository.save(second);
+
+        String body = mockMvc.perform(get("/api/tasks").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Test Task")))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks").param("limit", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Second Task")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void getTasks_WithStatusFilter_ShouldReturnOnlyMatchingTasks() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("status", "DONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    void getTasks_WithInvalidCursor_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportTasks_ShouldStreamNewlineDelimitedJson() throws Exception {
+        try {
+            MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string(containsString("\"title\":\"Test Task\"")))
+                    .andExpect(content().string(endsWith("}\n")));
+        } finally {
+            taskRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void getTaskSummaries_ShouldOmitDescription() throws Exception {
+        mockMvc.perform(get("/api/tasks/status/{status}", "TODO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Test Task")))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist());
+    }
+
+    @Test
+    void moveTask_ShouldReorderWithinAndAcrossColumns() throws Exception {
+        Long first = createTaskId("First");
+        Long second = createTaskId("Second");
+        Long third = createTaskId("Third");
+
+        mockMvc.perform(patch("/api/tasks/{id}/position", third)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MoveTaskRequest(null, first, second))))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        mockMvc.perform(patch("/api/tasks/{id}/position", first)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MoveTaskRequest(TaskStatus.DONE, null, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("DONE")));
+
+        mockMvc.perform(get("/api/tasks/status/{status}", "TODO"))
+                .andExpect(jsonPath("$.items[*].title", contains("Test Task", "Third", "Second")));
+        mockMvc.perform(get("/api/tasks/status/{status}", "DONE"))
+                .andExpect(jsonPath("$.items[*].title", contains("First")));
+    }
+
+    @Test
+    void moveTask_BetweenTiedNeighbours_ShouldOrderByIdWithoutRewritingTheColumn() throws Exception {
+        Long first = createTaskId("First");
+        Long second = createTaskId("Second");
+        Long third = createTaskId("Third");
+        Task tied = taskRepository.findById(third).orElseThrow(IllegalStateException::new);
+        tied.setRank(taskRepository.findById(first).orElseThrow(IllegalStateException::new).getRank());
+        taskRepository.saveAndFlush(tied);
+        long firstVersion = taskRepository.findById(first).orElseThrow(IllegalStateException::new).getVersion();
+        long thirdVersion = taskRepository.findById(third).orElseThrow(IllegalStateException::new).getVersion();
+
+        mockMvc.perform(patch("/api/tasks/{id}/position", second)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MoveTaskRequest(null, first, third))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/status/{status}", "TODO"))
+                .andExpect(jsonPath("$.items[*].title", contains("Test Task", "First", "Second", "Third")));
+        assertThat(taskRepository.findById(first).orElseThrow(IllegalStateException::new).getVersion())
+                .isEqualTo(firstVersion);
+        assertThat(taskRepository.findById(third).orElseThrow(IllegalStateException::new).getVersion())
+                .isEqualTo(thirdVersion);
+    }
+
+    @Test
+    void updateTaskStatus_ShouldAppendToTheNewColumnSoMovesStayBetweenDistinctKeys() throws Exception {
+        Long first = createTaskId("First");
+        Long second = createTaskId("Second");
+        Long third = createTaskId("Third");
+        for (Long id : Arrays.asList(first, second)) {
+            mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(patch("/api/tasks/{id}/position", third)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MoveTaskRequest(TaskStatus.DONE, first, second))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/status/{status}", "DONE"))
+                .andExpect(jsonPath("$.items[*].title", contains("First", "Third", "Second")));
+        assertThat(taskRepository.findById(first).orElseThrow(IllegalStateException::new).getRank())
+                .isLessThan(taskRepository.findById(second).orElseThrow(IllegalStateException::new).getRank());
+    }
+
+    @Test
+    void moveTask_NextToItself_ShouldReturn409() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/position", savedTask.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MoveTaskRequest(null, savedTask.getId(), null))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void countTasksByStatus_ShouldReturnCount() throws Exception {
+        mockMvc.perform(get("/api/tasks/status/{status}/count", "TODO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("TODO")))
+                .andExpect(jsonPath("$.count", is(1)));
+
+        mockMvc.perform(get("/api/tasks/status/{status}/count", "DONE"))
+                .andExpect(jsonPath("$.count", is(0)));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void searchTasks_ShouldFindCommittedTasksByKeyword() throws Exception {
+        try {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateTaskRequest("Quarterly zeppelin audit", null))))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "zeppel"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total", is(1)))
+                    .andExpect(jsonPath("$.hits[0].task.title", is("Quarterly zeppelin audit")));
+        } finally {
+            taskRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void streamTaskChanges_ShouldPushCommittedChangesAndReplayOnResume() throws Exception {
+        try {
+            MvcResult live = mockMvc.perform(get("/api/tasks/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateTaskRequest("Streamed task", null))))
+                    .andExpect(status().isCreated());
+
+            String liveContent = awaitContent(live, "Streamed task");
+            assertThat(liveContent).contains("event:task").contains("\"type\":\"CREATED\"");
+            Matcher id = Pattern.compile("id:(\\d+)").matcher(liveContent);
+            assertThat(id.find()).isTrue();
+            long sequence = Long.parseLong(id.group(1));
+
+            MvcResult resumed = mockMvc.perform(get("/api/tasks/stream")
+                    .header("Last-Event-ID", String.valueOf(sequence - 1)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertThat(awaitContent(resumed, "Streamed task")).contains("id:" + sequence);
+
+            MvcResult stale = mockMvc.perform(get("/api/tasks/stream").param("since", "1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertThat(awaitContent(stale, "event:reset")).doesNotContain("Streamed task");
+        } finally {
+            taskRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getChanges_ShouldReturnOnlyTasksChangedOrDeletedSinceRevision() throws Exception {
+        try {
+            String body = mockMvc.perform(get("/api/tasks/changes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed[*].title", hasItem("Test Task")))
+                    .andReturn().getResponse().getContentAsString();
+            long since = objectMapper.readTree(body).path("nextSince").asLong();
+
+            Task other = taskRepository.save(new Task(null, "Other Task", null, TaskStatus.TODO));
+            mockMvc.perform(patch("/api/tasks/{id}/status", savedTask.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/tasks/{id}", other.getId()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(since)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed", hasSize(1)))
+                    .andExpect(jsonPath("$.changed[0].status", is("DONE")))
+                    .andExpect(jsonPath("$.changed[0].updatedAt").exists())
+                    .andExpect(jsonPath("$.deleted", hasSize(1)))
+                    .andExpect(jsonPath("$.deleted[0].taskId", is(other.getId().intValue())))
+                    .andExpect(jsonPath("$.hasMore", is(false)));
+        } finally {
+            taskRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getStats_ShouldFollowCommittedChanges() throws Exception {
+        try {
+            long[] ids = new long[3];
+            for (int i = 0; i < ids.length; i++) {
+                String body = mockMvc.perform(post("/api/tasks")
+                        .header(WorkspaceContext.HEADER, "stats-board")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskRequest("Board task " + i, null))))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+                ids[i] = objectMapper.readTree(body).path("id").asLong();
+            }
+            mockMvc.perform(patch("/api/tasks/{id}/status", ids[0])
+                    .header(WorkspaceContext.HEADER, "stats-board")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(patch("/api/tasks/bulk/status")
+                    .header(WorkspaceContext.HEADER, "stats-board")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                            new BulkUpdateTaskStatusRequest(Arrays.asList(ids[1]), TaskStatus.IN_PROGRESS))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/tasks/{id}", ids[2]).header(WorkspaceContext.HEADER, "stats-board"))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/tasks/stats").header(WorkspaceContext.HEADER, "stats-board"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.todo", is(0)))
+                    .andExpect(jsonPath("$.inProgress", is(1)))
+                    .andExpect(jsonPath("$.done", is(1)))
+                    .andExpect(jsonPath("$.total", is(2)));
+        } finally {
+            taskRepository.deleteAll();
+            statistics.reconcile();
+        }
+    }
+
+    @Test
+    void workspaces_ShouldIsolateTasks() throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                .header(WorkspaceContext.HEADER, "team-a")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest("Team A task", null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).path("id").asLong();
+
+        mockMvc.perform(get("/api/tasks").header(WorkspaceContext.HEADER, "team-a"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Team A task")));
+        mockMvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/tasks/{id}", savedTask.getId()).header(WorkspaceContext.HEADER, "team-a"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks/status/{status}/count", "TODO"))
+                .andExpect(jsonPath("$.count", is(1)));
+    }
+
+    @Test
+    void invalidWorkspace_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tasks").header(WorkspaceContext.HEADER, "not a workspace!"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getTaskById_WhenExists_ShouldReturn200() throws Exception {
         mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
@@ -90,12 +533,69 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.description", is("Test Description")));
     }
 
+    @Test
+    void getTaskById_WithMatchingIfNoneMatch_ShouldReturn304() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tasks/{id}", savedTask.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getTaskById_ShouldServeRepeatedReadsFromCacheUntilUpdated() throws Exception {
+        try {
+            mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
+                    .andExpect(status().isOk());
+            long hitsBefore = cacheHits();
+
+            mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
+                    .andExpect(status().isOk());
+            assertThat(cacheHits()).isEqualTo(hitsBefore + 1);
+
+            mockMvc.perform(patch("/api/tasks/{id}/status", savedTask.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
+                    .andExpect(jsonPath("$.status", is("DONE")));
+        } finally {
+            taskRepository.deleteAll();
+        }
+    }
+
     @Test
     void getTaskById_WhenNotExists_ShouldReturn404() throws Exception {
         mockMvc.perform(get("/api/tasks/{id}", 999L))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getTaskById_WhenNotExists_ShouldCountError() throws Exception {
+        double before = meterRegistry.counter("task.api.errors", "type", "not_found").count();
+
+        mockMvc.perform(get("/api/tasks/{id}", 999L))
+                .andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.counter("task.api.errors", "type", "not_found").count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void getAllTasks_ShouldRecordServiceTimer() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("task.service").tag("method", "getAllTasks").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+    }
+
     @Test
     void updateTask_ShouldReturn200() throws Exception {
         UpdateTaskRequest request = new UpdateTaskRequest();
@@ -123,6 +623,35 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.status", is("DONE")));
     }
 
+    @Test
+    void updateTask_WithStaleIfMatch_ShouldReturn412() throws Exception {
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated Task", null, TaskStatus.DONE);
+
+        mockMvc.perform(put("/api/tasks/{id}", savedTask.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (savedTask.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTaskStatus_WithMatchingIfMatch_ShouldReturnNewETag() throws Exception {
+        UpdateTaskStatusRequest request = new UpdateTaskStatusRequest(TaskStatus.IN_PROGRESS);
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", savedTask.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + savedTask.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (savedTask.getVersion() + 1) + "\""));
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", savedTask.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + savedTask.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void deleteTask_WhenExists_ShouldReturn204() throws Exception {
         mockMvc.perform(delete("/api/tasks/{id}", savedTask.getId()))
@@ -134,4 +663,116 @@ class TaskControllerIntegrationTest {
         mockMvc.perform(delete("/api/tasks/{id}", 999L))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createTasks_ShouldReturn201WithAllTasks() throws Exception {
+        BulkCreateTaskRequest request = new BulkCreateTaskRequest(Arrays.asList(
+                new CreateTaskRequest("First", null),
+                new CreateTaskRequest("Second", "Details")));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].title", is("Second")));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void createTasks_WithRepeatedIdempotencyKey_ShouldReplayTheCreatedTasks() throws Exception {
+        String content = objectMapper.writeValueAsString(new BulkCreateTaskRequest(Arrays.asList(
+                new CreateTaskRequest("Retried first", null),
+                new CreateTaskRequest("Retried second", null))));
+        String first = mockMvc.perform(post("/api/tasks/bulk")
+                .header(IdempotencyStore.HEADER, "bulk-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long firstId = objectMapper.readTree(first).path(0).path("id").asLong();
+        long secondId = objectMapper.readTree(first).path(1).path("id").asLong();
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .header(IdempotencyStore.HEADER, "bulk-retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$[*].id", contains((int) firstId, (int) secondId)))
+                .andExpect(jsonPath("$[1].title", is("Retried second")));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void createTasks_WithInvalidTask_ShouldReturn400() throws Exception {
+        BulkCreateTaskRequest request = new BulkCreateTaskRequest(
+                Collections.singletonList(new CreateTaskRequest("", null)));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldReturnAffectedCount() throws Exception {
+        BulkUpdateTaskStatusRequest request = new BulkUpdateTaskStatusRequest(
+                Arrays.asList(savedTask.getId(), 999L), TaskStatus.DONE);
+
+        mockMvc.perform(patch("/api/tasks/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(2)))
+                .andExpect(jsonPath("$.affected", is(1)));
+
+        mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
+                .andExpect(jsonPath("$.status", is("DONE")));
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnAffectedCount() throws Exception {
+        BulkDeleteTaskRequest request = new BulkDeleteTaskRequest(Collections.singletonList(savedTask.getId()));
+
+        mockMvc.perform(post("/api/tasks/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(1)));
+
+        mockMvc.perform(get("/api/tasks/{id}", savedTask.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private Long createTaskId(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private long cacheHits() throws Exception {
+        String body = mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("tasks").path("hitCount").asLong();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -0,0 +1,169 @@
+package com.taskmanager.backend.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+
+    private static final String WORKSPACE = "default";
+
+    private TaskChangeFeed feed;
+
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void publish_WithSlowSubscriber_ShouldKeepDeliveringToOthersAndResetTheSlowOne() throws Exception {
+        // Given
+        feed = newFeed(Duration.ofHours(1));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        subscribe(slow);
+        subscribe(fast);
+
+        // When
+        for (int id = 1; id <= 5; id++) {
+            feed.onTaskChanged(TaskChangedEvent.created(task((long) id)));
+            fast.awaitEvents(id);
+        }
+
+        // Then
+        assertThat(fast.names()).containsExactly("task", "task", "task", "task", "task");
+        assertThat(slow.names()).isEmpty();
+
+        release.countDown();
+        slow.awaitEvents(3);
+        // the first change was already being written; the next two overflowed the queue of two
+        assertThat(slow.names()).containsExactly("task", "reset", "task");
+    }
+
+    @Test
+    void publish_WithManyStalledSubscribers_ShouldUseTheBoundedPoolAndDropThem() throws Exception {
+        // Given
+        feed = newFeed(Duration.ofMillis(200));
+        Set<Thread> writers = ConcurrentHashMap.newKeySet();
+        AtomicInteger interrupted = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            subscribe(new StalledEmitter(writers, interrupted));
+        }
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+
+        // When
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (interrupted.get() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        subscribe(fast);
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L)));
+
+        // Then
+        assertThat(interrupted.get()).isEqualTo(20);
+        assertThat(writers).hasSizeLessThanOrEqualTo(2);
+        fast.awaitEvents(1);
+        assertThat(fast.names()).containsExactly("task");
+        assertThat(feed.getSubscriberCount()).isEqualTo(1);
+    }
+
+    /** A feed with a queue of two events per subscriber and two sender threads. */
+    private static TaskChangeFeed newFeed(Duration stallTimeout) {
+        return new TaskChangeFeed(new ObjectMapper().findAndRegisterModules(), 100, 2, 2,
+                stallTimeout, Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    private void subscribe(SseEmitter emitter) throws InterruptedException {
+        int before = feed.getSubscriberCount();
+        feed.subscribe(WORKSPACE, null, emitter);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.getSubscriberCount() == before && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task(id, "Task " + id, null, TaskStatus.TODO);
+        task.setWorkspaceId(WORKSPACE);
+        return task;
+    }
+
+    /** Blocks in every write until its sender is interrupted. */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final Set<Thread> writers;
+
+        private final AtomicInteger interrupted;
+
+        private StalledEmitter(Set<Thread> writers, AtomicInteger interrupted) {
+            this.writers = writers;
+            this.interrupted = interrupted;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writers.add(Thread.currentThread());
+            try {
+                new CountDownLatch(1).await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException ex) {
+                interrupted.incrementAndGet();
+                throw new IOException("Write interrupted", ex);
+            }
+        }
+    }
+
+    /** Records the name of each event sent, after waiting for {@code release}. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        private final List<String> names = Collections.synchronizedList(new ArrayList<>());
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            String event = builder.build().iterator().next().getData().toString();
+            names.add(event.contains("event:reset") ? "reset" : "task");
+        }
+
+        private List<String> names() {
+            synchronized (names) {
+                return new ArrayList<>(names);
+            }
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (names.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+}
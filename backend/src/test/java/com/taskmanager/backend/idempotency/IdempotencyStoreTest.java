@@ -0,0 +1,132 @@
+package com.taskmanager.backend.idempotency;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.exception.IdempotencyKeyMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private MeterRegistry meterRegistry;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(new ObjectMapper(), meterRegistry, "maximumWeight=10000,expireAfterWrite=1m");
+    }
+
+    @Test
+    void execute_WithConcurrentDuplicates_ShouldRunOnceAndShareTheResult() throws Exception {
+        // Given
+        CreateTaskRequest request = new CreateTaskRequest("Retried", null);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<ResponseEntity<Long>> original = executor.submit(() ->
+                    execute("key-1", "create", request, () -> {
+                        executions.incrementAndGet();
+                        running.countDown();
+                        awaitQuietly(release);
+                        return 1L;
+                    }));
+            running.await(5, TimeUnit.SECONDS);
+            Future<ResponseEntity<Long>> duplicate = executor.submit(() ->
+                    execute("key-1", "create", request, () -> 2L));
+            release.countDown();
+
+            // Then
+            assertThat(isReplayed(original.get(5, TimeUnit.SECONDS))).isFalse();
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1L);
+            assertThat(isReplayed(duplicate.get())).isTrue();
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(meterRegistry.counter(IdempotencyStore.REPLAYS_METRIC).count()).isEqualTo(1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_AfterFailure_ShouldRunTheRetry() {
+        // Given
+        CreateTaskRequest request = new CreateTaskRequest("Retried", null);
+        assertThatThrownBy(() -> execute("key-1", "create", request, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // When
+        ResponseEntity<Long> retry = execute("key-1", "create", request, () -> 1L);
+
+        // Then
+        assertThat(retry.getBody()).isEqualTo(1L);
+        assertThat(isReplayed(retry)).isFalse();
+    }
+
+    @Test
+    void execute_WithDuplicate_ShouldReplayTheStoredStatusETagAndBody() {
+        // Given
+        CreateTaskRequest request = new CreateTaskRequest("Retried", null);
+        store.execute("key-1", "create", request, new TypeReference<Long>() {},
+                () -> ResponseEntity.status(HttpStatus.CREATED).eTag("\"3\"").body(1L));
+
+        // When
+        ResponseEntity<Long> replayed = store.execute("key-1", "create", request, new TypeReference<Long>() {},
+                () -> ResponseEntity.ok(2L));
+
+        // Then
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(replayed.getBody()).isEqualTo(1L);
+        assertThat(isReplayed(replayed)).isTrue();
+    }
+
+    @Test
+    void execute_WithDifferentBodyOrOperation_ShouldRejectTheKey() {
+        // Given
+        execute("key-1", "create", new CreateTaskRequest("First", null), () -> 1L);
+
+        // When / Then
+        assertThatThrownBy(() -> execute("key-1", "create", new CreateTaskRequest("Second", null), () -> 2L))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> execute("key-1", "bulk-create", new CreateTaskRequest("First", null), () -> 2L))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    private ResponseEntity<Long> execute(String key, String operation, Object request, Supplier<Long> action) {
+        return store.execute(key, operation, request, new TypeReference<Long>() {}, () -> ResponseEntity.ok(action.get()));
+    }
+
+    private static boolean isReplayed(ResponseEntity<?> response) {
+        return response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
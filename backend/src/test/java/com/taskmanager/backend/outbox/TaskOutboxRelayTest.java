@@ -0,0 +1,116 @@
+package com.taskmanager.backend.outbox;
+
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.TaskOutboxEvent;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskOutboxRelayTest {
+
+    @Mock
+    private TaskOutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private TaskOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new TaskOutboxRelay(outboxRepository, sink, transactionManager, meterRegistry, 2);
+    }
+
+    @Test
+    void relay_ShouldPublishBatchesInOrderAndDeleteThem() throws Exception {
+        // Given
+        List<TaskOutboxEvent> first = Arrays.asList(event(1L), event(2L));
+        List<TaskOutboxEvent> second = Collections.singletonList(event(3L));
+        when(outboxRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(first, second);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(outboxRepository).deleteByIds(Arrays.asList(1L, 2L));
+        verify(outboxRepository).deleteByIds(Collections.singletonList(3L));
+        assertThat(meterRegistry.counter("task.outbox.published").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void relay_WhenSinkFails_ShouldKeepEventsAndRetry() throws Exception {
+        // Given
+        List<TaskOutboxEvent> batch = Collections.singletonList(event(1L));
+        when(outboxRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(batch);
+        when(outboxRepository.count()).thenReturn(1L);
+        doThrow(new IllegalStateException("sink down")).doNothing().when(sink).publish(batch);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository, never()).deleteByIds(anyCollection());
+        assertThat(meterRegistry.counter("task.outbox.failures").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("task.outbox.backlog").gauge().value()).isEqualTo(1.0);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository).deleteByIds(Collections.singletonList(1L));
+    }
+
+    @Test
+    void relay_WithoutCommittedChanges_ShouldNotQueryOutbox() {
+        // Given
+        when(outboxRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Collections.emptyList());
+        relay.relay();
+        clearInvocations(outboxRepository);
+
+        // When
+        relay.relay();
+
+        // Then
+        verifyNoInteractions(outboxRepository);
+
+        // When
+        relay.onTaskChanged(TaskChangedEvent.deleted("default", 1L, TaskStatus.TODO));
+        relay.relay();
+
+        // Then
+        verify(outboxRepository).findAllByOrderByIdAsc(any(Pageable.class));
+    }
+
+    private static TaskOutboxEvent event(Long id) {
+        TaskOutboxEvent event = new TaskOutboxEvent(TaskChangedEvent.Type.DELETED, "default", id, null, null, Instant.now());
+        event.setId(id);
+        return event;
+    }
+}
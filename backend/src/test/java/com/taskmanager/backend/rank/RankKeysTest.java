@@ -0,0 +1,87 @@
+package com.taskmanager.backend.rank;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    @Test
+    void between_ShouldSortStrictlyBetweenItsBounds() {
+        assertThat(RankKeys.between(null, null)).isEqualTo(RankKeys.INITIAL);
+        assertBetween("V", null);
+        assertBetween(null, "V");
+        assertBetween("V", "W");
+        assertBetween("Vz", "W");
+        assertBetween("V", "V1");
+        assertBetween(null, "01");
+        assertBetween("zzz", null);
+    }
+
+    @Test
+    void between_WithRandomInsertions_ShouldKeepOrderAndNeverEndInZero() {
+        // Given
+        List<String> keys = new ArrayList<>();
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 2000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position == 0 ? null : keys.get(position - 1);
+            String after = position == keys.size() ? null : keys.get(position);
+            keys.add(position, RankKeys.between(before, after));
+        }
+
+        // Then
+        assertThat(keys).isSorted().doesNotHaveDuplicates().allMatch(key -> !key.endsWith("0"));
+    }
+
+    @Test
+    void between_WhenAppending_ShouldKeepKeysShort() {
+        String key = null;
+        for (int i = 0; i < 1000; i++) {
+            key = RankKeys.between(key, null);
+        }
+        assertThat(key.length()).isLessThanOrEqualTo(40);
+    }
+
+    @Test
+    void between_WithUnorderedBounds_ShouldThrow() {
+        assertThatThrownBy(() -> RankKeys.between("W", "V")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between("V", "V")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void spread_ShouldReturnShortOrderedKeys() {
+        List<String> keys = RankKeys.spread(10_000);
+
+        assertThat(keys).hasSize(10_000).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allMatch(key -> key.length() <= 4 && !key.endsWith("0"));
+        assertBetween(keys.get(0), keys.get(1));
+    }
+
+    @Test
+    void after_ShouldAppendShortOrderedKeysPastTheLastOne() {
+        List<String> keys = RankKeys.after("zz", 1000);
+
+        assertThat(keys).hasSize(1000).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allMatch(key -> key.compareTo("zz") > 0 && key.length() <= 6 && !key.endsWith("0"));
+        assertThat(RankKeys.after(null, 1)).containsExactly(RankKeys.INITIAL);
+    }
+
+    private static void assertBetween(String before, String after) {
+        String key = RankKeys.between(before, after);
+        if (before != null) {
+            assertThat(key).isGreaterThan(before);
+        }
+        if (after != null) {
+            assertThat(key).isLessThan(after);
+        }
+        assertThat(key).doesNotEndWith("0");
+    }
+}
@@ -0,0 +1,176 @@
+package com.taskmanager.backend.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource first;
+
+    @Mock
+    private DataSource second;
+
+    private Replica firstReplica;
+
+    private Replica secondReplica;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(primary.getConnection()).thenReturn(mock(Connection.class));
+        lenient().when(first.getConnection()).thenReturn(mock(Connection.class));
+        lenient().when(second.getConnection()).thenReturn(mock(Connection.class));
+        firstReplica = new Replica("replica-1", first);
+        secondReplica = new Replica("replica-2", second);
+        routing = new ReplicaRoutingDataSource(primary, Arrays.asList(firstReplica, secondReplica));
+        firstReplica.probed(10, 10, true);
+        secondReplica.probed(10, 10, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void readOnlyRequestTransactions_ShouldAlternateBetweenReplicas() throws Exception {
+        // Given
+        ReadConsistency.bind(0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        routing.getConnection();
+        routing.getConnection();
+
+        // Then
+        verify(first).getConnection();
+        verify(second).getConnection();
+        verifyNoInteractions(primary);
+        assertThat(ReadConsistency.isReplicaRead()).isTrue();
+    }
+
+    @Test
+    void writesAndWorkOutsideRequests_ShouldUsePrimary() throws Exception {
+        // Given a write transaction of a request
+        ReadConsistency.bind(0);
+
+        // When
+        routing.getConnection();
+
+        // Then
+        verify(primary).getConnection();
+
+        // Given a read-only transaction outside a request
+        ReadConsistency.clear();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        routing.getConnection();
+
+        // Then
+        verify(primary, times(2)).getConnection();
+        verifyNoInteractions(first, second);
+    }
+
+    @Test
+    void consistencyToken_ShouldSkipReplicasThatHaveNotCaughtUp() throws Exception {
+        // Given
+        firstReplica.probed(12, 12, true);
+        ReadConsistency.bind(11);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        routing.getConnection();
+        routing.getConnection();
+
+        // Then
+        verify(first, times(2)).getConnection();
+        verifyNoInteractions(second);
+
+        // Given no replica is far enough
+        ReadConsistency.bind(13);
+
+        // When
+        routing.getConnection();
+
+        // Then
+        verify(primary).getConnection();
+        assertThat(ReadConsistency.isReplicaRead()).isFalse();
+    }
+
+    @Test
+    void onPrimary_ShouldRouteToPrimary() throws Exception {
+        // Given
+        ReadConsistency.bind(0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        ReadConsistency.onPrimary((Supplier<Object>) () -> {
+            try {
+                return routing.getConnection();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        // Then
+        verify(primary).getConnection();
+        verifyNoInteractions(first, second);
+    }
+
+    @Test
+    void probe_ShouldTakeLaggingAndUnreachableReplicasOutOfRotation() {
+        // Given
+        DriverManagerDataSource primaryDatabase = databaseAt("lag-primary", 7);
+        DriverManagerDataSource caughtUp = databaseAt("lag-caught-up", 7);
+        DriverManagerDataSource lagging = databaseAt("lag-behind", 4);
+        DriverManagerDataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:lag-empty", "sa", "");
+        Replica caughtUpReplica = new Replica("replica-1", caughtUp);
+        Replica laggingReplica = new Replica("replica-2", lagging);
+        Replica unreachableReplica = new Replica("replica-3", unreachable);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(new ReplicaRoutingDataSource(primary,
+                Arrays.asList(caughtUpReplica, laggingReplica, unreachableReplica)), primaryDatabase, Duration.ZERO);
+
+        // When
+        monitor.probe();
+
+        // Then
+        assertThat(caughtUpReplica.isAvailable()).isTrue();
+        assertThat(laggingReplica.isAvailable()).isFalse();
+        assertThat(laggingReplica.getLag()).isEqualTo(3L);
+        assertThat(unreachableReplica.isAvailable()).isFalse();
+    }
+
+    private static DriverManagerDataSource databaseAt(String name, long revision) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS tasks (revision BIGINT)");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS task_tombstones (revision BIGINT)");
+        jdbc.update("INSERT INTO task_tombstones (revision) VALUES (?)", revision);
+        return dataSource;
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskmanager.backend.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Primary and replica are two in-memory databases. The test plays replication: {@link #replicate()}
+ * copies the primary onto the replica, and the lag monitor only probes when asked to. With no lag
+ * allowed, a probe keeps the replica available only if it has everything the primary committed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "taskmanager.replicas.enabled=true",
+        "taskmanager.replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "taskmanager.replicas.max-lag=0s",
+        "taskmanager.replicas.probe-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+        new JdbcTemplate(replicaDataSource()).execute("DROP ALL OBJECTS");
+        lagMonitor.probe();
+    }
+
+    @Test
+    void readOnlyRequests_ShouldBeServedByReplica() throws Exception {
+        createTask("Replicated");
+        replicate();
+        createTask("Not replicated yet");
+        double replicaReads = replicaReads();
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Replicated")));
+        assertThat(replicaReads()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void writesAndReadsOutsideRequests_ShouldUsePrimary() throws Exception {
+        replicate();
+
+        createTask("Written");
+
+        assertThat(taskRepository.findAll()).hasSize(1);
+        assertThat(new JdbcTemplate(replicaDataSource()).queryForObject("select count(*) from tasks", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void consistencyToken_ShouldReadOwnWritesFromPrimaryUntilReplicaCatchesUp() throws Exception {
+        replicate();
+        String token = createTask("Mine");
+        assertThat(token).isNotNull();
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$[*].title").isEmpty());
+        mockMvc.perform(withToken(get("/api/tasks"), token))
+                .andExpect(jsonPath("$[*].title", contains("Mine")));
+
+        // the replica holds the write, but only a later change proves it
+        replicate();
+        double replicaReads = replicaReads();
+        mockMvc.perform(withToken(get("/api/tasks"), token))
+                .andExpect(jsonPath("$[*].title", contains("Mine")));
+        assertThat(replicaReads()).isEqualTo(replicaReads);
+
+        createTask("Someone else's");
+        replicate();
+        mockMvc.perform(withToken(get("/api/tasks"), token))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Mine", "Someone else's")));
+        assertThat(replicaReads()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void rejectedConditionalWrite_ShouldNotLeaveReplicaLagging() throws Exception {
+        createTask("Replicated");
+        Long id = taskRepository.findAll().get(0).getId();
+        mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                .header(HttpHeaders.IF_MATCH, "\"99\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(TaskStatus.DONE))))
+                .andExpect(status().isPreconditionFailed());
+
+        replicate();
+        lagMonitor.probe();
+
+        assertThat(routingDataSource.getReplicas().get(0).isAvailable()).isTrue();
+        double replicaReads = replicaReads();
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$[*].title", contains("Replicated")));
+        assertThat(replicaReads()).isEqualTo(replicaReads + 1);
+    }
+
+    /**
+     * Copies the primary onto the replica and lets the monitor see the new position.
+     */
+    private void replicate() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource());
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class)) {
+            replica.execute(statement);
+        }
+        lagMonitor.probe();
+    }
+
+    private String createTask(String title) throws Exception {
+        return mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(ReadConsistency.HEADER);
+    }
+
+    private static MockHttpServletRequestBuilder withToken(MockHttpServletRequestBuilder request, String token) {
+        return request.header(ReadConsistency.HEADER, token);
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("task.replica.reads").tag("target", "replica-1").functionCounter().count();
+    }
+
+    private DataSource replicaDataSource() {
+        return routingDataSource.getReplicas().get(0).getDataSource();
+    }
+}
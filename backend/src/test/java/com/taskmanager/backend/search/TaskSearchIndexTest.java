@@ -0,0 +1,85 @@
+package com.taskmanager.backend.search;
+
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    private static final String WORKSPACE = "team-a";
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(null, null, null);
+        index.index(task(1L, WORKSPACE, "Fix login bug", "Users cannot log in with SSO"));
+        index.index(task(2L, WORKSPACE, "Write release notes", "Mention the login fix"));
+        index.index(task(3L, WORKSPACE, "Plan sprint", null));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesFirst() {
+        TaskSearchIndex.SearchResult result = index.search(WORKSPACE, "login", 0, 10);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getHits()).extracting(TaskSearchIndex.Hit::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_ShouldMatchLastTermAsPrefix() {
+        TaskSearchIndex.SearchResult result = index.search(WORKSPACE, "spr", 0, 10);
+
+        assertThat(result.getHits()).extracting(TaskSearchIndex.Hit::getId).containsExactly(3L);
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedHits() {
+        TaskSearchIndex.SearchResult result = index.search(WORKSPACE, "login", 1, 10);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getHits()).extracting(TaskSearchIndex.Hit::getId).containsExactly(2L);
+    }
+
+    @Test
+    void search_WhenOffsetPlusLimitOverflows_ShouldReturnRemainingHits() {
+        assertThat(index.search(WORKSPACE, "login", 1, Integer.MAX_VALUE).getHits())
+                .extracting(TaskSearchIndex.Hit::getId).containsExactly(2L);
+        assertThat(index.search(WORKSPACE, "login", Integer.MAX_VALUE, 10).getHits()).isEmpty();
+    }
+
+    @Test
+    void index_ShouldReplacePreviousTermsOnUpdate() {
+        index.index(task(1L, WORKSPACE, "Fix logout bug", null));
+
+        assertThat(index.search(WORKSPACE, "login", 0, 10).getHits()).extracting(TaskSearchIndex.Hit::getId).containsExactly(2L);
+        assertThat(index.search(WORKSPACE, "logout", 0, 10).getHits()).extracting(TaskSearchIndex.Hit::getId).containsExactly(1L);
+    }
+
+    @Test
+    void remove_ShouldDropTaskFromResults() {
+        index.remove(WORKSPACE, 1L);
+
+        assertThat(index.search(WORKSPACE, "bug", 0, 10).getTotal()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void search_ShouldOnlyReturnTasksOfTheSearchingWorkspace() {
+        index.index(task(4L, "team-b", "Fix login page", null));
+
+        assertThat(index.search(WORKSPACE, "login", 0, 10).getHits()).extracting(TaskSearchIndex.Hit::getId)
+                .containsExactly(1L, 2L);
+        assertThat(index.search("team-b", "login", 0, 10).getHits()).extracting(TaskSearchIndex.Hit::getId)
+                .containsExactly(4L);
+    }
+
+    private static Task task(Long id, String workspaceId, String title, String description) {
+        Task task = new Task(id, title, description, TaskStatus.TODO);
+        task.setWorkspaceId(workspaceId);
+        return task;
+    }
+}
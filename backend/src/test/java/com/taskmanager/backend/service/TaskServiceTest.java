@@ -1,35 +1,100 @@
 package com.taskmanager.backend.service;
 
 import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.MoveTaskRequest;
+import com.taskmanager.backend.dto.TaskChangesResponse;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskSearchResponse;
+import com.taskmanager.backend.dto.TaskStatusRef;
+import com.taskmanager.backend.dto.TaskSummary;
 import com.taskmanager.backend.dto.UpdateTaskRequest;
 import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.exception.InvalidPageRequestException;
 import com.taskmanager.backend.exception.TaskNotFoundException;
+import com.taskmanager.backend.exception.TaskVersionMismatchException;
+import com.taskmanager.backend.model.ArchivedTask;
 import com.taskmanager.backend.model.Task;
 import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.model.TaskTombstone;
+import com.taskmanager.backend.rank.TaskRanking;
+import com.taskmanager.backend.repository.ArchivedTaskRepository;
 import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
+import com.taskmanager.backend.search.TaskSearchIndex;
 import com.taskmanager.backend.service.impl.TaskServiceImpl;
+import com.taskmanager.backend.stats.TaskStatistics;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import com.taskmanager.backend.writebehind.TaskStatusBuffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.persistence.EntityManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceTest {
 
+    private static final String WORKSPACE = WorkspaceContext.DEFAULT_WORKSPACE;
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private TaskRevisionTracker revisionTracker;
+
+    @Mock
+    private TaskStatistics statistics;
+
+    @Mock
+    private TaskRanking ranking;
+
+    @Mock
+    private TaskStatusBuffer statusBuffer;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -44,6 +109,7 @@ class TaskServiceTest {
         testTask.setTitle("Test Task");
         testTask.setDescription("Test Description");
         testTask.setStatus(TaskStatus.TODO);
+        testTask.setVersion(3L);
     }
 
     @Test
@@ -64,37 +130,194 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void createTask_ShouldPublishCreatedEvent() {
+        // Given
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // When
+        taskService.createTask(new CreateTaskRequest("New Task", null));
+
+        // Then
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TaskChangedEvent.Type.CREATED);
+        assertThat(event.getValue().getTaskId()).isEqualTo(testId);
+    }
+
+    @Test
+    void createTasks_ShouldSaveInBatchesAndClearContext() {
+        // Given
+        List<CreateTaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            requests.add(new CreateTaskRequest("Task " + i, null));
+        }
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Task> result = taskService.createTasks(requests);
+
+        // Then
+        assertThat(result).hasSize(150);
+        assertThat(result).allMatch(task -> task.getStatus() == TaskStatus.TODO);
+        verify(taskRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
     @Test
     void getAllTasks_ShouldReturnAllTasks() {
         // Given
         List<Task> tasks = Arrays.asList(testTask, new Task());
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findByWorkspaceIdOrderByIdAsc(WORKSPACE)).thenReturn(tasks);
 
         // When
         List<Task> result = taskService.getAllTasks();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findByWorkspaceIdOrderByIdAsc(WORKSPACE);
+    }
+
+    @Test
+    void getTasks_WhenMoreRowsThanLimit_ShouldReturnCursor() {
+        // Given
+        Task second = new Task(2L, "Second", null, TaskStatus.TODO);
+        Task third = new Task(3L, "Third", null, TaskStatus.TODO);
+        when(taskRepository.findByWorkspaceIdAndStatusAndIdGreaterThanOrderByIdAsc(eq(WORKSPACE), eq(TaskStatus.TODO), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(testTask, second, third));
+
+        // When
+        TaskPage<Task> result = taskService.getTasks(TaskStatus.TODO, 2, null);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(testTask, second);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void getTasks_WithCursor_ShouldContinueAfterLastId() {
+        // Given
+        Task second = new Task(2L, "Second", null, TaskStatus.DONE);
+        when(taskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(eq(WORKSPACE), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(testTask, second));
+        when(taskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(eq(WORKSPACE), eq(1L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(second));
+        String cursor = taskService.getTasks(null, 1, null).getNextCursor();
+
+        // When
+        TaskPage<Task> result = taskService.getTasks(null, 1, cursor);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(second);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTasks_WithIncludeArchived_ShouldMergeArchiveById() {
+        // Given
+        Task third = new Task(3L, "Third", null, TaskStatus.TODO);
+        ArchivedTask second = archived(new Task(2L, "Second", null, TaskStatus.DONE));
+        ArchivedTask fourth = archived(new Task(4L, "Fourth", null, TaskStatus.DONE));
+        when(taskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(eq(WORKSPACE), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(testTask, third));
+        when(archivedTaskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(eq(WORKSPACE), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(second, fourth));
+
+        // When
+        TaskPage<Task> result = taskService.getTasks(null, 2, null, true);
+
+        // Then
+        assertThat(result.getItems()).extracting(Task::getId).containsExactly(1L, 2L);
+        assertThat(result.getItems().get(1).getArchivedAt()).isNotNull();
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getTasks_WithoutIncludeArchived_ShouldNotReadArchive() {
+        // Given
+        when(taskRepository.findByWorkspaceIdAndIdGreaterThanOrderByIdAsc(eq(WORKSPACE), eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(testTask));
+
+        // When
+        taskService.getTasks(null, 10, null);
+
+        // Then
+        verifyNoInteractions(archivedTaskRepository);
+    }
+
+    @Test
+    void getTasks_WithMalformedCursor_ShouldThrowException() {
+        assertThatThrownBy(() -> taskService.getTasks(null, 10, "not-a-cursor"))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void getTaskSummaries_ShouldPageSummariesByStatus() {
+        // Given
+        TaskSummary first = new TaskSummary(1L, "First", TaskStatus.DONE, "V", 0L);
+        TaskSummary second = new TaskSummary(2L, "Second", TaskStatus.DONE, "W", 0L);
+        when(taskRepository.findSummariesByStatus(eq(WORKSPACE), eq(TaskStatus.DONE), eq(""), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        // When
+        TaskPage<TaskSummary> result = taskService.getTaskSummaries(TaskStatus.DONE, 1, null);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(first);
+        assertThat(result.getNextCursor()).isNotNull();
     }
 
     @Test
     void getTaskById_WhenTaskExists_ShouldReturnTask() {
         // Given
-        when(taskRepository.findById(testId)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
 
         // When
         Task result = taskService.getTaskById(testId);
 
         // Then
         assertThat(result).isEqualTo(testTask);
-        verify(taskRepository, times(1)).findById(testId);
+        verify(taskRepository, times(1)).findByIdAndWorkspaceId(testId, WORKSPACE);
+    }
+
+    @Test
+    void getTaskById_ShouldOnlyLookInCurrentWorkspace() {
+        // Given
+        WorkspaceContext.set("team-a");
+        when(taskRepository.findByIdAndWorkspaceId(testId, "team-a")).thenReturn(Optional.empty());
+
+        // When/Then
+        try {
+            assertThatThrownBy(() -> taskService.getTaskById(testId))
+                    .isInstanceOf(TaskNotFoundException.class);
+        } finally {
+            WorkspaceContext.clear();
+        }
+        verify(taskRepository, never()).findByIdAndWorkspaceId(testId, WORKSPACE);
+    }
+
+    @Test
+    void getTaskById_WhenArchived_ShouldFallBackToArchive() {
+        // Given
+        testTask.setStatus(TaskStatus.DONE);
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(archived(testTask)));
+
+        // When
+        Task result = taskService.getTaskById(testId);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(testId);
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(result.getArchivedAt()).isNotNull();
     }
 
     @Test
     void getTaskById_WhenTaskNotExists_ShouldThrowException() {
         // Given
-        when(taskRepository.findById(testId)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> taskService.getTaskById(testId))
@@ -102,6 +325,46 @@ class TaskServiceTest {
                 .hasMessageContaining("Task not found with id: " + testId);
     }
 
+    @Test
+    void exportTasks_ShouldConsumeAndDetachEachTask() {
+        // Given
+        Task second = new Task(2L, "Second", null, TaskStatus.DONE);
+        when(taskRepository.streamByWorkspaceId(WORKSPACE)).thenReturn(Stream.of(testTask, second));
+        List<Task> exported = new ArrayList<>();
+
+        // When
+        taskService.exportTasks(exported::add);
+
+        // Then
+        assertThat(exported).containsExactly(testTask, second);
+        verify(entityManager).detach(testTask);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void searchTasks_ShouldReturnTasksInRankOrder() {
+        // Given
+        Task second = new Task(2L, "Second", null, TaskStatus.DONE);
+        TaskSearchIndex.SearchResult ranked = new TaskSearchIndex.SearchResult(Arrays.asList(
+                new TaskSearchIndex.Hit(2L, 2.0), new TaskSearchIndex.Hit(testId, 1.0)), 2);
+        when(searchIndex.search(WORKSPACE, "task", 0, 10)).thenReturn(ranked);
+        when(taskRepository.findAllById(Arrays.asList(2L, testId))).thenReturn(Arrays.asList(testTask, second));
+
+        // When
+        TaskSearchResponse result = taskService.searchTasks("task", 0, 10);
+
+        // Then
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getHits()).extracting(hit -> hit.getTask().getId()).containsExactly(2L, testId);
+    }
+
+    @Test
+    void searchTasks_WhenPageIsBeyondSearchWindow_ShouldThrowException() {
+        assertThatThrownBy(() -> taskService.searchTasks("task", Integer.MAX_VALUE / 10, 10))
+                .isInstanceOf(InvalidPageRequestException.class);
+        verifyNoInteractions(searchIndex);
+    }
+
     @Test
     void updateTask_ShouldUpdateExistingTask() {
         // Given
@@ -110,7 +373,8 @@ class TaskServiceTest {
         request.setDescription("Updated Description");
         request.setStatus(TaskStatus.IN_PROGRESS);
 
-        when(taskRepository.findById(testId)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
+        when(ranking.last(WORKSPACE, TaskStatus.IN_PROGRESS)).thenReturn("X");
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         // When
@@ -118,46 +382,274 @@ class TaskServiceTest {
 
         // Then
         assertThat(result).isNotNull();
+        assertThat(testTask.getRank()).isEqualTo("X");
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
     @Test
-    void updateTaskStatus_ShouldUpdateStatus() {
+    void updateTask_WithStaleVersion_ShouldThrowException() {
+        // Given
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
+
+        // When/Then
+        assertThatThrownBy(() -> taskService.updateTask(testId, new UpdateTaskRequest("Title", null, null), 2L))
+                .isInstanceOf(TaskVersionMismatchException.class);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void updateTaskStatus_ShouldAppendToTheNewColumn() {
         // Given
         UpdateTaskStatusRequest request = new UpdateTaskStatusRequest();
         request.setStatus(TaskStatus.DONE);
 
-        when(taskRepository.findById(testId)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(ranking.last(WORKSPACE, TaskStatus.DONE)).thenReturn("X");
+        when(taskRepository.moveById(eq(testId), eq(WORKSPACE), eq(TaskStatus.DONE), eq("X"), anyLong(), any(Instant.class))).thenReturn(1);
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
 
         // When
         Task result = taskService.updateTaskStatus(testId, request);
 
         // Then
         assertThat(result).isNotNull();
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).moveById(eq(testId), eq(WORKSPACE), eq(TaskStatus.DONE), eq("X"), anyLong(), any(Instant.class));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void updateTaskStatus_WithUnchangedStatus_ShouldKeepTheRank() {
+        // Given
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(taskRepository.updateStatusById(eq(testId), eq(WORKSPACE), eq(TaskStatus.TODO), anyLong(), any(Instant.class))).thenReturn(1);
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
+
+        // When
+        taskService.updateTaskStatus(testId, new UpdateTaskStatusRequest(TaskStatus.TODO));
+
+        // Then
+        verifyNoInteractions(ranking);
+        verify(taskRepository, never()).moveById(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void updateTaskStatus_WithBufferEnabled_ShouldBufferAndReturnPendingStatus() {
+        // Given
+        when(statusBuffer.isEnabled()).thenReturn(true);
+        when(taskRepository.existsByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(true);
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
+        when(statusBuffer.pendingStatus(WORKSPACE, testId)).thenReturn(TaskStatus.DONE);
+
+        // When
+        Task result = taskService.updateTaskStatus(testId, new UpdateTaskStatusRequest(TaskStatus.DONE));
+
+        // Then
+        verify(statusBuffer).write(WORKSPACE, testId, TaskStatus.DONE);
+        verify(taskRepository, never()).updateStatusById(any(), any(), any(), anyLong(), any());
+        verifyNoInteractions(eventPublisher);
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(result.getVersion()).isEqualTo(3L);
+        assertThat(testTask.getStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void updateTaskStatus_WithBufferEnabledAndVersion_ShouldWriteThrough() {
+        // Given
+        when(statusBuffer.isEnabled()).thenReturn(true);
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(ranking.last(WORKSPACE, TaskStatus.DONE)).thenReturn("X");
+        when(taskRepository.moveByIdAndVersion(eq(testId), eq(WORKSPACE), eq(TaskStatus.DONE), eq("X"), eq(3L), anyLong(), any(Instant.class))).thenReturn(1);
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
+
+        // When
+        taskService.updateTaskStatus(testId, new UpdateTaskStatusRequest(TaskStatus.DONE), 3L);
+
+        // Then
+        verify(statusBuffer, never()).write(any(), any(), any());
+        verify(statusBuffer).writeThrough(WORKSPACE, Collections.singletonList(testId));
+    }
+
+    @Test
+    void updateTaskStatus_WhenTaskNotExists_ShouldThrowException() {
+        // Given
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> taskService.updateTaskStatus(testId, new UpdateTaskStatusRequest(TaskStatus.DONE)))
+                .isInstanceOf(TaskNotFoundException.class)
+                .hasMessageContaining("Task not found with id: " + testId);
+        verify(taskRepository, never()).moveById(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void updateTaskStatus_WithStaleVersion_ShouldThrowException() {
+        // Given
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(ranking.last(WORKSPACE, TaskStatus.DONE)).thenReturn("X");
+        when(taskRepository.moveByIdAndVersion(eq(testId), eq(WORKSPACE), eq(TaskStatus.DONE), eq("X"), eq(2L), anyLong(), any(Instant.class))).thenReturn(0);
+        when(taskRepository.existsByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> taskService.updateTaskStatus(testId, new UpdateTaskStatusRequest(TaskStatus.DONE), 2L))
+                .isInstanceOf(TaskVersionMismatchException.class);
+    }
+
+    @Test
+    void moveTask_ShouldRankBetweenNeighboursAndPublishMovedEvent() {
+        // Given
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(ranking.between(WORKSPACE, TaskStatus.IN_PROGRESS, testId, 7L, 8L)).thenReturn("Vk");
+        when(taskRepository.moveById(eq(testId), eq(WORKSPACE), eq(TaskStatus.IN_PROGRESS), eq("Vk"), anyLong(), any(Instant.class))).thenReturn(1);
+        when(taskRepository.findByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(Optional.of(testTask));
+
+        // When
+        Task result = taskService.moveTask(testId, new MoveTaskRequest(TaskStatus.IN_PROGRESS, 7L, 8L), null);
+
+        // Then
+        assertThat(result).isEqualTo(testTask);
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TaskChangedEvent.Type.MOVED);
+        assertThat(event.getValue().getPreviousStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void moveTask_WithStaleVersion_ShouldThrowException() {
+        // Given
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(ranking.between(WORKSPACE, TaskStatus.TODO, testId, null, null)).thenReturn("W");
+        when(taskRepository.moveByIdAndVersion(eq(testId), eq(WORKSPACE), eq(TaskStatus.TODO), eq("W"), eq(2L), anyLong(), any(Instant.class))).thenReturn(0);
+        when(taskRepository.existsByIdAndWorkspaceId(testId, WORKSPACE)).thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> taskService.moveTask(testId, new MoveTaskRequest(null, null, null), 2L))
+                .isInstanceOf(TaskVersionMismatchException.class);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void deleteTask_WhenTaskExists_ShouldDeleteTask() {
         // Given
-        when(taskRepository.existsById(testId)).thenReturn(true);
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(taskRepository.deleteTaskById(testId, WORKSPACE)).thenReturn(1);
 
         // When
         taskService.deleteTask(testId);
 
         // Then
-        verify(taskRepository, times(1)).deleteById(testId);
+        verify(taskRepository, times(1)).deleteTaskById(testId, WORKSPACE);
+        verify(taskRepository, never()).existsByIdAndWorkspaceId(testId, WORKSPACE);
+        verify(entityManager).persist(any(TaskTombstone.class));
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getPreviousStatus()).isEqualTo(TaskStatus.TODO);
     }
 
     @Test
     void deleteTask_WhenTaskNotExists_ShouldThrowException() {
         // Given
-        when(taskRepository.existsById(testId)).thenReturn(false);
+        when(taskRepository.findStatusById(testId, WORKSPACE)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> taskService.deleteTask(testId))
                 .isInstanceOf(TaskNotFoundException.class)
                 .hasMessageContaining("Task not found with id: " + testId);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateTaskStatuses_ShouldIgnoreDuplicateIds() {
+        // Given
+        when(taskRepository.findStatusesByIds(WORKSPACE, Arrays.asList(1L, 2L)))
+                .thenReturn(Arrays.asList(new TaskStatusRef(1L, TaskStatus.TODO), new TaskStatusRef(2L, TaskStatus.IN_PROGRESS)));
+        when(ranking.append(eq(WORKSPACE), eq(TaskStatus.DONE), eq(Arrays.asList(1L, 2L)), anyLong(), any(Instant.class))).thenReturn(2);
+
+        // When
+        int result = taskService.updateTaskStatuses(Arrays.asList(1L, 2L, 1L), TaskStatus.DONE);
+
+        // Then
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldAppendOnlyTasksChangingColumn() {
+        // Given
+        when(taskRepository.findStatusesByIds(WORKSPACE, Arrays.asList(1L, 2L)))
+                .thenReturn(Arrays.asList(new TaskStatusRef(1L, TaskStatus.TODO), new TaskStatusRef(2L, TaskStatus.DONE)));
+        when(taskRepository.updateStatusByIds(eq(WORKSPACE), eq(Collections.singletonList(2L)), eq(TaskStatus.DONE), anyLong(), any(Instant.class))).thenReturn(1);
+        when(ranking.append(eq(WORKSPACE), eq(TaskStatus.DONE), eq(Collections.singletonList(1L)), anyLong(), any(Instant.class))).thenReturn(1);
+
+        // When
+        int result = taskService.updateTaskStatuses(Arrays.asList(1L, 2L), TaskStatus.DONE);
+
+        // Then
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnDeletedCount() {
+        // Given
+        when(taskRepository.findStatusesByIds(WORKSPACE, Arrays.asList(1L, 99L)))
+                .thenReturn(Arrays.asList(new TaskStatusRef(1L, TaskStatus.DONE)));
+        when(taskRepository.deleteByIds(WORKSPACE, Arrays.asList(1L))).thenReturn(1);
+
+        // When
+        int result = taskService.deleteTasks(Arrays.asList(1L, 99L));
+
+        // Then
+        assertThat(result).isEqualTo(1);
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void deleteTasks_AcrossChunks_ShouldWriteBufferedStatusesThroughBeforeLockingAnyRow() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        // one more than a chunk
+        for (long id = 1; id <= 1001; id++) {
+            ids.add(id);
+        }
+        when(taskRepository.findStatusesByIds(eq(WORKSPACE), anyList())).thenReturn(Collections.emptyList());
+
+        // When
+        taskService.deleteTasks(ids);
+
+        // Then
+        InOrder order = inOrder(statusBuffer, taskRepository);
+        order.verify(statusBuffer).writeThrough(WORKSPACE, ids);
+        order.verify(taskRepository, times(2)).findStatusesByIds(eq(WORKSPACE), anyList());
+        verify(statusBuffer, times(1)).writeThrough(any(), any());
+    }
+
+    @Test
+    void getChanges_ShouldStopAtRevisionBoundaryBelowWatermark() {
+        // Given
+        Task changed = new Task(2L, "Changed", null, TaskStatus.TODO);
+        changed.setRevision(12L);
+        when(revisionTracker.watermark()).thenReturn(20L);
+        when(taskRepository.findRevisionsBetween(eq(WORKSPACE), eq(10L), eq(20L), any(Pageable.class))).thenReturn(Arrays.asList(12L, 15L));
+        when(tombstoneRepository.findRevisionsBetween(eq(WORKSPACE), eq(10L), eq(20L), any(Pageable.class))).thenReturn(Arrays.asList(11L));
+        when(taskRepository.findChangedBetween(WORKSPACE, 10L, 12L)).thenReturn(Arrays.asList(changed));
+        when(tombstoneRepository.findBetween(WORKSPACE, 10L, 12L))
+                .thenReturn(Arrays.asList(new TaskTombstone(7L, WORKSPACE, 11L, Instant.now())));
+
+        // When
+        TaskChangesResponse result = taskService.getChanges(10L, 2);
+
+        // Then
+        assertThat(result.getChanged()).containsExactly(changed);
+        assertThat(result.getDeleted()).extracting(TaskTombstone::getTaskId).containsExactly(7L);
+        assertThat(result.getNextSince()).isEqualTo(12L);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getChanges_WithNegativeRevision_ShouldThrowException() {
+        // When/Then
+        assertThatThrownBy(() -> taskService.getChanges(-1L, null))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    private static ArchivedTask archived(Task task) {
+        return ArchivedTask.of(task, Instant.now());
+    }
+}
@@ -0,0 +1,140 @@
+package com.taskmanager.backend.stats;
+
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.TaskStatsResponse;
+import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
+import com.taskmanager.backend.service.TaskService;
+import com.taskmanager.backend.tenant.WorkspaceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent writes to the same task, with the first writer holding its transaction open until
+ * the second has started. Runs in its own workspace so that its counters start from zero.
+ */
+@SpringBootTest
+class TaskStatisticsIntegrationTest {
+
+    private static final String WORKSPACE = "stats-locking";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatistics statistics;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        WorkspaceContext.set(WORKSPACE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        WorkspaceContext.clear();
+        taskRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+        statistics.reconcile();
+    }
+
+    @Test
+    void updateTaskStatus_Concurrently_ShouldChainPreviousStatuses() throws Exception {
+        // Given
+        Task task = taskService.createTask(new CreateTaskRequest("Contended", null));
+
+        // When
+        runWhileHoldingFirstWrite(
+                () -> taskService.updateTaskStatus(task.getId(), new UpdateTaskStatusRequest(TaskStatus.IN_PROGRESS)),
+                () -> taskService.updateTaskStatus(task.getId(), new UpdateTaskStatusRequest(TaskStatus.DONE)));
+
+        // Then
+        TaskStatsResponse stats = statistics.get(WORKSPACE);
+        assertThat(stats.getTodo()).isZero();
+        assertThat(stats.getInProgress()).isZero();
+        assertThat(stats.getDone()).isEqualTo(1L);
+    }
+
+    @Test
+    void deleteTasks_Concurrently_ShouldCountEachTaskOnce() throws Exception {
+        // Given
+        Task first = taskService.createTask(new CreateTaskRequest("First", null));
+        Task second = taskService.createTask(new CreateTaskRequest("Second", null));
+
+        // When
+        Future<Integer> overlapping = runWhileHoldingFirstWrite(
+                () -> taskService.deleteTasks(Collections.singletonList(first.getId())),
+                () -> taskService.deleteTasks(Arrays.asList(first.getId(), second.getId())));
+
+        // Then
+        assertThat(overlapping.get()).isEqualTo(1);
+        assertThat(statistics.get(WORKSPACE).getTotal()).isZero();
+        assertThat(tombstoneRepository.findAll())
+                .filteredOn(tombstone -> tombstone.getWorkspaceId().equals(WORKSPACE))
+                .hasSize(2);
+    }
+
+    /**
+     * Runs {@code first} in a transaction that commits only once {@code second} has had time to
+     * reach the rows {@code first} wrote.
+     */
+    private <T> Future<T> runWhileHoldingFirstWrite(Callable<?> first, Callable<T> second) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> {
+            WorkspaceContext.set(WORKSPACE);
+            return transaction.execute(status -> {
+                try {
+                    first.call();
+                    written.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return null;
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+        });
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<T> contender = executor.submit(() -> {
+            WorkspaceContext.set(WORKSPACE);
+            return second.call();
+        });
+        Thread.sleep(200);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        contender.get(5, TimeUnit.SECONDS);
+        return contender;
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanager.backend.stats;
+
+import com.taskmanager.backend.dto.TaskStatsResponse;
+import com.taskmanager.backend.dto.TaskStatusCount;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatisticsTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TaskStatistics(taskRepository);
+    }
+
+    @Test
+    void onTaskChanged_ShouldApplyStatusTransitions() {
+        // When
+        statistics.onTaskChanged(TaskChangedEvent.created(task(1L, "team-a")));
+        statistics.onTaskChanged(TaskChangedEvent.statusChanged("team-a", 1L, TaskStatus.IN_PROGRESS, TaskStatus.TODO));
+        statistics.onTaskChanged(TaskChangedEvent.created(task(2L, "team-b")));
+        statistics.onTaskChanged(TaskChangedEvent.deleted("team-b", 2L, TaskStatus.TODO));
+
+        // Then
+        TaskStatsResponse teamA = statistics.get("team-a");
+        assertThat(teamA.getTodo()).isZero();
+        assertThat(teamA.getInProgress()).isEqualTo(1L);
+        assertThat(teamA.getTotal()).isEqualTo(1L);
+        assertThat(statistics.get("team-b").getTotal()).isZero();
+        assertThat(statistics.get("unknown").getTotal()).isZero();
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftFromGroupedCounts() {
+        // Given
+        statistics.onTaskChanged(TaskChangedEvent.deleted("team-a", 1L, TaskStatus.DONE));
+        when(taskRepository.countByWorkspaceAndStatus()).thenReturn(Arrays.asList(
+                new TaskStatusCount("team-a", TaskStatus.TODO, 4L),
+                new TaskStatusCount("team-b", TaskStatus.DONE, 2L)));
+
+        // When
+        statistics.reconcile();
+
+        // Then
+        TaskStatsResponse teamA = statistics.get("team-a");
+        assertThat(teamA.getTodo()).isEqualTo(4L);
+        assertThat(teamA.getDone()).isZero();
+        assertThat(statistics.get("team-b").getDone()).isEqualTo(2L);
+
+        // When the tasks are gone
+        when(taskRepository.countByWorkspaceAndStatus()).thenReturn(Collections.emptyList());
+        statistics.reconcile();
+
+        // Then
+        assertThat(statistics.get("team-a").getTotal()).isZero();
+    }
+
+    private static Task task(Long id, String workspaceId) {
+        Task task = new Task(id, "Task " + id, null, TaskStatus.TODO);
+        task.setWorkspaceId(workspaceId);
+        return task;
+    }
+}
@@ -0,0 +1,140 @@
+package com.taskmanager.backend.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.CreateTaskRequest;
+import com.taskmanager.backend.dto.UpdateTaskRequest;
+import com.taskmanager.backend.dto.UpdateTaskStatusRequest;
+import com.taskmanager.backend.model.Task;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Write-behind enabled, with a flush interval long enough that only the test flushes.
+ */
+@SpringBootTest(properties = {
+        "taskmanager.status-buffer.enabled=true",
+        "taskmanager.status-buffer.flush-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class TaskStatusBufferIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusBuffer statusBuffer;
+
+    @AfterEach
+    void tearDown() {
+        statusBuffer.flush();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void updateTaskStatus_ShouldBeReadableBeforeFlushAndWrittenOnce() throws Exception {
+        Task task = createTask();
+
+        mockMvc.perform(patchStatus(task.getId(), TaskStatus.IN_PROGRESS)).andExpect(status().isOk());
+        mockMvc.perform(patchStatus(task.getId(), TaskStatus.DONE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("DONE")));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(jsonPath("$.status", is("DONE")));
+        assertThat(storedStatus(task)).isEqualTo(TaskStatus.TODO);
+
+        statusBuffer.flush();
+
+        Task stored = taskRepository.findById(task.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(stored.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(stored.getVersion()).isEqualTo(task.getVersion() + 1);
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(jsonPath("$.status", is("DONE")))
+                .andExpect(jsonPath("$.version", is(stored.getVersion().intValue())));
+    }
+
+    @Test
+    void getTaskById_WithBufferedStatus_ShouldNotAnswerNotModified() throws Exception {
+        Task task = createTask();
+        String eTag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patchStatus(task.getId(), TaskStatus.DONE))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.status", is("DONE")));
+
+        statusBuffer.flush();
+
+        String written = mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                .header(HttpHeaders.IF_MATCH, written)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTaskRequest("Renamed", null, TaskStatus.DONE))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void directWrite_ShouldWritePendingStatusFirst() throws Exception {
+        Task task = createTask();
+        mockMvc.perform(patchStatus(task.getId(), TaskStatus.DONE)).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new UpdateTaskRequest("Renamed", null, TaskStatus.IN_PROGRESS))))
+                .andExpect(status().isOk());
+        statusBuffer.flush();
+
+        assertThat(storedStatus(task)).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    private Task createTask() throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskRequest("Dragged", null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, Task.class);
+    }
+
+    private MockHttpServletRequestBuilder patchStatus(Long id, TaskStatus status) throws Exception {
+        return patch("/api/tasks/{id}/status", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTaskStatusRequest(status)));
+    }
+
+    private TaskStatus storedStatus(Task task) {
+        return taskRepository.findById(task.getId())
+                .map(Task::getStatus)
+                .orElseThrow(IllegalStateException::new);
+    }
+}
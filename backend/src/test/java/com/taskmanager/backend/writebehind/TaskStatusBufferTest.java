@@ -0,0 +1,224 @@
+package com.taskmanager.backend.writebehind;
+
+import com.taskmanager.backend.dto.TaskStatusRef;
+import com.taskmanager.backend.event.TaskChangedEvent;
+import com.taskmanager.backend.model.TaskStatus;
+import com.taskmanager.backend.rank.TaskRanking;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.sync.TaskRevisionTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusBufferTest {
+
+    private static final String WORKSPACE = "default";
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskRevisionTracker revisionTracker;
+
+    @Mock
+    private TaskRanking ranking;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void flush_ShouldWriteOnlyTheLatestStatusPerTask() {
+        // Given
+        TaskStatusBuffer buffer = buffer(TaskStatusBuffer.Durability.BUFFERED);
+        when(taskRepository.findStatusesByIds(eq(WORKSPACE), anyCollection())).thenReturn(Arrays.asList(
+                new TaskStatusRef(1L, TaskStatus.TODO), new TaskStatusRef(2L, TaskStatus.TODO)));
+        buffer.write(WORKSPACE, 1L, TaskStatus.DONE);
+        buffer.write(WORKSPACE, 1L, TaskStatus.IN_PROGRESS);
+        buffer.write(WORKSPACE, 1L, TaskStatus.DONE);
+        buffer.write(WORKSPACE, 2L, TaskStatus.DONE);
+
+        // When
+        assertThat(buffer.pendingStatus(WORKSPACE, 1L)).isEqualTo(TaskStatus.DONE);
+        buffer.flush();
+
+        // Then
+        verify(ranking).append(eq(WORKSPACE), eq(TaskStatus.DONE), eq(Arrays.asList(1L, 2L)),
+                anyLong(), any(Instant.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+        assertThat(buffer.pendingStatus(WORKSPACE, 1L)).isNull();
+        assertThat(meterRegistry.counter("task.status.buffer.coalesced").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.timer("task.status.buffer.flush.latency").count()).isEqualTo(2L);
+    }
+
+    @Test
+    void flush_WhenStatusEndsWhereItStarted_ShouldNotWrite() {
+        // Given
+        TaskStatusBuffer buffer = buffer(TaskStatusBuffer.Durability.BUFFERED);
+        when(taskRepository.findStatusesByIds(eq(WORKSPACE), anyCollection()))
+                .thenReturn(Collections.singletonList(new TaskStatusRef(1L, TaskStatus.TODO)));
+        buffer.write(WORKSPACE, 1L, TaskStatus.DONE);
+        buffer.write(WORKSPACE, 1L, TaskStatus.TODO);
+
+        // When
+        buffer.flush();
+
+        // Then
+        verify(ranking, never()).append(any(), any(), anyList(), anyLong(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void flush_WhenTransactionFails_ShouldKeepUpdateBuffered() {
+        // Given
+        TaskStatusBuffer buffer = buffer(TaskStatusBuffer.Durability.BUFFERED);
+        when(taskRepository.findStatusesByIds(eq(WORKSPACE), anyCollection()))
+                .thenReturn(Collections.singletonList(new TaskStatusRef(1L, TaskStatus.TODO)));
+        when(ranking.append(eq(WORKSPACE), eq(TaskStatus.DONE), anyList(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+        buffer.write(WORKSPACE, 1L, TaskStatus.DONE);
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(buffer.pendingStatus(WORKSPACE, 1L)).isEqualTo(TaskStatus.DONE);
+        assertThat(meterRegistry.counter("task.status.buffer.failures").count()).isEqualTo(1.0);
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(buffer.pendingStatus(WORKSPACE, 1L)).isNull();
+        verify(ranking, times(2)).append(eq(WORKSPACE), eq(TaskStatus.DONE), anyList(), anyLong(), any());
+    }
+
+    @Test
+    void write_WithFlushedDurability_ShouldReturnOnceCommitted() throws Exception {
+        // Given
+        TaskStatusBuffer buffer = buffer(TaskStatusBuffer.Durability.FLUSHED);
+        when(taskRepository.findStatusesByIds(eq(WORKSPACE), anyCollection()))
+                .thenReturn(Collections.singletonList(new TaskStatusRef(1L, TaskStatus.TODO)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<?> write = executor.submit(() -> buffer.write(WORKSPACE, 1L, TaskStatus.DONE));
+            while (buffer.pendingStatus(WORKSPACE, 1L) == null) {
+                Thread.sleep(5);
+            }
+
+            // Then
+            assertThat(write.isDone()).isFalse();
+
+            // When
+            buffer.flush();
+
+            // Then
+            write.get(5, TimeUnit.SECONDS);
+            verify(ranking).append(eq(WORKSPACE), eq(TaskStatus.DONE), eq(Collections.singletonList(1L)),
+                    anyLong(), any(Instant.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void write_WithFlushedDurability_WhenFlushRollsBack_ShouldWaitForTheRetry() throws Exception {
+        // Given
+        TaskStatusBuffer buffer = buffer(TaskStatusBuffer.Durability.FLUSHED);
+        when(taskRepository.findStatusesByIds(eq(WORKSPACE), anyCollection()))
+                .thenReturn(Collections.singletonList(new TaskStatusRef(1L, TaskStatus.TODO)));
+        when(ranking.append(eq(WORKSPACE), eq(TaskStatus.DONE), anyList(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> write = executor.submit(() -> buffer.write(WORKSPACE, 1L, TaskStatus.DONE));
+            while (buffer.pendingStatus(WORKSPACE, 1L) == null) {
+                Thread.sleep(5);
+            }
+
+            // When
+            buffer.flush();
+
+            // Then
+            Thread.sleep(50);
+            assertThat(write.isDone()).isFalse();
+            assertThat(buffer.pendingStatus(WORKSPACE, 1L)).isEqualTo(TaskStatus.DONE);
+
+            // When
+            buffer.flush();
+
+            // Then
+            write.get(5, TimeUnit.SECONDS);
+            assertThat(buffer.pendingStatus(WORKSPACE, 1L)).isNull();
+            verify(ranking, times(2)).append(eq(WORKSPACE), eq(TaskStatus.DONE), anyList(), anyLong(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TaskStatusBuffer buffer(TaskStatusBuffer.Durability durability) {
+        return new TaskStatusBuffer(taskRepository, revisionTracker, ranking, eventPublisher, cacheManager,
+                new NoOpTransactionManager(), meterRegistry, true, durability, 100);
+    }
+
+    /** Runs transaction synchronizations like a real manager, without a resource behind it. */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
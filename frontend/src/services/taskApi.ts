@@ -12,10 +12,18 @@ const apiClient = axios.create({
   },
 })
 
+// Last X-Consistency-Token returned by a write: sent back so reads after a write see it even
+// when served by a read replica
+const CONSISTENCY_TOKEN_HEADER = 'x-consistency-token'
+let consistencyToken: string | undefined
+
 // Request interceptor for logging and auth
 apiClient.interceptors.request.use(
   (config) => {
     console.log(`API Request: ${config.method?.toUpperCase()} ${config.url}`)
+    if (consistencyToken) {
+      config.headers[CONSISTENCY_TOKEN_HEADER] = consistencyToken
+    }
     return config
   },
   (error) => {
@@ -27,6 +35,10 @@ apiClient.interceptors.request.use(
 apiClient.interceptors.response.use(
   (response) => {
     console.log(`API Response: ${response.status} ${response.config.url}`)
+    const token = response.headers[CONSISTENCY_TOKEN_HEADER]
+    if (token && (!consistencyToken || Number(token) > Number(consistencyToken))) {
+      consistencyToken = token
+    }
     return response
   },
   (error: AxiosError) => {
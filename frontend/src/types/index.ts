@@ -3,8 +3,10 @@ export interface Task {
   title: string
   description?: string
   status: TaskStatus
+  rank?: string
   createdAt?: string
   updatedAt?: string
+  archivedAt?: string
 }
 
 export type TaskStatus = 'TODO' | 'IN_PROGRESS' | 'DONE'